@@ -0,0 +1,52 @@
+package benchmark;
+
+import exceptions.GraphReadingException;
+import graph.IntGraph;
+import graphloader.impl.MappedDimacsGraphLoader;
+import graphloader.impl.RandomGraphGenerator;
+import graphloader.impl.SnapshotGraphLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Resolves the graph files of the benchmarks, e.g. {@code rand_10000}, in the folder given by the system
+ * property {@code graphs.dir}, which defaults to {@code inputs/rands}, where {@code graph-gen.sh} puts them.
+ * A random graph without a file, e.g. {@code rand_1000000}, is generated in memory.
+ */
+final class BenchmarkGraphs {
+
+    private BenchmarkGraphs() {
+    }
+
+
+    static String path(String graphName) {
+
+        Path path = file(graphName);
+
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalStateException(
+                "Graph file %s not found. Generate it with graph-gen.sh or set -Dgraphs.dir".formatted(path));
+        }
+
+        return path.toString();
+    }
+
+
+    static IntGraph load(String graphName) throws GraphReadingException {
+
+        RandomGraphGenerator generator = RandomGraphGenerator.forName(graphName);
+
+        if (generator != null && !Files.isRegularFile(file(graphName))) {
+            return generator.loadGraph();
+        }
+
+        String path = path(graphName);
+        return new SnapshotGraphLoader(path, new MappedDimacsGraphLoader(path)).loadGraph();
+    }
+
+
+    private static Path file(String graphName) {
+        return Path.of(System.getProperty("graphs.dir", "inputs/rands"), graphName + ".gr");
+    }
+}
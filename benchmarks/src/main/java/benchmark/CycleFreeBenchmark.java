@@ -0,0 +1,158 @@
+package benchmark;
+
+import graph.IntGraph;
+import graph.SubgraphLabels;
+import graph.impl.CsrGraphBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.IntList;
+import walks.LoopErasure;
+import walks.RandomWalk;
+import walks.Walk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the loop-erasure of {@link Walk#cycleFree(LoopErasure)} with the former map-based and quadratic
+ * implementations, on random walks in a random graph with n = 10000 and m = n ln n. A {@code walkLength} of 0
+ * stands for {@code lengthRandomWalk} of the solver, which is computed from the graph like the solver does;
+ * the longer walks contain many more cycles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CycleFreeBenchmark {
+
+    private static final int NUMBER_VERTICES = 10_000;
+
+    @Param({"0", "256", "4096", "65536"})
+    public int walkLength;
+
+    private IntList randomWalk;
+    private LoopErasure loopErasure;
+
+
+    @Setup
+    public void setUp() {
+
+        Random random = new Random(1234);
+        CsrGraphBuilder builder = new CsrGraphBuilder();
+        int numberEdges = (int) (NUMBER_VERTICES * Math.log(NUMBER_VERTICES));
+
+        for (int v = 1; v <= NUMBER_VERTICES; v++) {
+            builder.addEdge(v, v % NUMBER_VERTICES + 1);
+        }
+
+        for (int i = NUMBER_VERTICES; i < numberEdges; i++) {
+            builder.addEdge(random.nextInt(NUMBER_VERTICES) + 1, random.nextInt(NUMBER_VERTICES) + 1);
+        }
+
+        IntGraph graph = builder.build();
+        SubgraphLabels labels = new SubgraphLabels(graph.vertexCount());
+
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            labels.set(v, SubgraphLabels.Z1);
+        }
+
+        int n = graph.liveVertexCount();
+        double d = (2.0 * graph.edgeCount()) / n;
+        int length = walkLength > 0 ? walkLength : (int) Math.ceil(4.0 * Math.log(n) / Math.log(d));
+
+        RandomWalk walk = new RandomWalk(graph, labels, SubgraphLabels.Z1, 0, length, random);
+        walk.generateWalk();
+
+        randomWalk = walk.getPath();
+        loopErasure = new LoopErasure(graph.vertexCount());
+
+        String erasedPath = cycleFreeWithWorkspace().getPath().toString();
+
+        if (!legacyCycleFree().equals(erasedPath) || !cycleFreeWithMap().toString().equals(erasedPath)) {
+            throw new IllegalStateException("Loop-erasures differ");
+        }
+    }
+
+
+    @Benchmark
+    public String legacyCycleFree() {
+
+        List<Integer> path = new ArrayList<>(randomWalk.size());
+        randomWalk.forEach(path::add);
+
+        Map<Integer, Integer> map = new HashMap<>();
+
+        int i = 0;
+
+        while (i != path.size()) {
+            Integer currentVertex = path.get(i);
+
+            if (!map.containsKey(currentVertex)) {
+
+                map.put(currentVertex, i);
+            } else {
+
+                path.subList(path.indexOf(currentVertex), i).clear();
+                i = 0;
+                map = new HashMap<>();
+                continue;
+            }
+
+            i++;
+        }
+
+        return path.toString();
+    }
+
+    /**
+     * The former single scan, which keeps the position of every vertex of the cycle-free prefix in a map.
+     */
+    @Benchmark
+    public IntList cycleFreeWithMap() {
+
+        IntList path = new FixedWalk(randomWalk).getPath();
+        Map<Integer, Integer> positions = new HashMap<>();
+
+        int top = 0;
+
+        for (int i = 0; i < path.size(); i++) {
+
+            int currentVertex = path.get(i);
+            Integer position = positions.get(currentVertex);
+
+            if (position != null && position < top && path.get(position) == currentVertex) {
+
+                // cut the cycle back to the first occurrence of the vertex
+                top = position + 1;
+                continue;
+            }
+
+            path.set(top, currentVertex);
+            positions.put(currentVertex, top++);
+        }
+
+        path.truncate(top);
+
+        return path;
+    }
+
+    @Benchmark
+    public Walk cycleFreeWithWorkspace() {
+        return new FixedWalk(randomWalk).cycleFree(loopErasure);
+    }
+}
@@ -0,0 +1,20 @@
+package benchmark;
+
+import util.IntList;
+import walks.Walk;
+
+/**
+ * A walk with a copy of a given path.
+ */
+final class FixedWalk extends Walk {
+
+    FixedWalk(IntList path) {
+
+        super();
+        this.path.addAll(path);
+    }
+
+    @Override
+    public void generateWalk() {
+    }
+}
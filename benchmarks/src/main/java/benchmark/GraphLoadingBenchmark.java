@@ -0,0 +1,63 @@
+package benchmark;
+
+import exceptions.GraphReadingException;
+import graph.IntGraph;
+import graphloader.impl.MappedDimacsGraphLoader;
+import graphloader.impl.SimpleUndirectedGraphLoader;
+import graphloader.impl.SnapshotGraphLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the graph loaders on the graph files of {@code graph-gen.sh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphLoadingBenchmark {
+
+    @Param({"rand_1000", "rand_10000", "rand_100000"})
+    public String graph;
+
+    private String path;
+
+
+    @Setup
+    public void setUp() throws GraphReadingException {
+
+        path = BenchmarkGraphs.path(graph);
+
+        // writes the snapshot, if it is missing
+        BenchmarkGraphs.load(graph);
+    }
+
+
+    @Benchmark
+    public IntGraph simpleLoader() throws GraphReadingException {
+        return new SimpleUndirectedGraphLoader(path).loadGraph();
+    }
+
+    @Benchmark
+    public IntGraph mappedLoader() throws GraphReadingException {
+        return new MappedDimacsGraphLoader(path).loadGraph();
+    }
+
+    @Benchmark
+    public IntGraph snapshotLoader() throws GraphReadingException {
+        return new SnapshotGraphLoader(path, new MappedDimacsGraphLoader(path)).loadGraph();
+    }
+}
@@ -0,0 +1,427 @@
+package benchmark;
+
+import algorithm.VertexDisjointPaths;
+import algorithm.impl.SolveContext;
+import algorithm.impl.VertexDisjointPathsImpl;
+import enums.SearchStatus;
+import exceptions.GraphReadingException;
+import exceptions.MaximumNumberOfPairsExceededException;
+import flow.SplitGraphView;
+import flow.UnitCapacityMaxFlow;
+import graph.IntGraph;
+import graph.SubgraphLabels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pairloader.impl.PairLoaderImpl;
+import sampling.VertexSampler;
+import search.BidirectionalBfs;
+import util.IntList;
+import util.VertexPairs;
+import walks.ConnectedWalk;
+import walks.LoopErasure;
+import walks.NetworkFlowWalk;
+import walks.RandomWalk;
+import walks.Walk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every stage of the algorithm on its own, and the full solve, on the graph files of
+ * {@code graph-gen.sh} with k sampled pairs.
+ * <p>
+ * The setup runs the stages once, with the same retries as the algorithm, until every stage has succeeded,
+ * and keeps their results. Every stage benchmark starts from these results, so it measures one stage only.
+ * The benchmarks of W(2), W(3) and W(4) give their consumed vertices back at the end, which costs
+ * one write per vertex of the walks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+    private static final VertexSampler SAMPLER = new VertexSampler();
+
+    @Param({"rand_1000", "rand_10000", "rand_100000"})
+    public String graph;
+
+    @Param({"10", "30"})
+    public int k;
+
+    private IntGraph mainGraph;
+    private VertexPairs<Integer> pairs;
+    private SplittableRandom random;
+    private int lengthRandomWalk;
+
+    private SubgraphLabels labels;
+    private int[] startVertices;
+    private int[] endVertices;
+    private int[] endpoints;
+    private int[] x1Vertices;
+    private int[] kVertices;
+    private SplitGraphView flow;
+    private SplitGraphView scratchFlow;
+    private UnitCapacityMaxFlow scratchMaxFlow;
+    private SubgraphLabels scratchLabels;
+    private BidirectionalBfs search;
+    private LoopErasure loopErasure;
+
+    private int[] aTilde;
+    private int[] bTilde;
+    private int[] aHat;
+    private int[] bHat;
+    private List<List<IntList>> walkParts;
+
+    private SolveContext context;
+
+
+    @Setup
+    public void setUp() throws GraphReadingException, MaximumNumberOfPairsExceededException {
+
+        mainGraph = BenchmarkGraphs.load(graph);
+        random = new SplittableRandom(1234);
+
+        PairLoaderImpl pairLoader = new PairLoaderImpl(mainGraph, 1.0 / 10.0, k, new SplittableRandom(5678));
+        pairLoader.generatePairs();
+        pairs = pairLoader.getPairs();
+
+        int n = mainGraph.vertexCount();
+        double d = (2.0 * mainGraph.edgeCount()) / n;
+        lengthRandomWalk = (int) Math.ceil(4.0 * Math.log(n) / Math.log(d));
+
+        startVertices = pairs.getStartVertices().stream().mapToInt(Integer::intValue).toArray();
+        endVertices = pairs.getEndVertices().stream().mapToInt(Integer::intValue).toArray();
+        endpoints = pairs.getAllVertices().stream().mapToInt(Integer::intValue).toArray();
+
+        labels = new SubgraphLabels(n);
+        flow = new SplitGraphView(mainGraph, labels);
+        scratchLabels = new SubgraphLabels(n);
+        scratchFlow = new SplitGraphView(mainGraph, labels);
+        scratchMaxFlow = new UnitCapacityMaxFlow(scratchFlow);
+        search = new BidirectionalBfs(mainGraph);
+        loopErasure = new LoopErasure(n);
+        context = new SolveContext(mainGraph, new SplittableRandom(91011));
+
+        prepareFlow();
+        prepareWalks();
+    }
+
+
+    // ================== STEPS 1 - 3 ==========================
+
+    @Benchmark
+    public int[] step1PartitionX1() {
+        return SAMPLER.sampleBernoulli(mainGraph.vertexCount(), 1.0 / 3.0, random);
+    }
+
+    @Benchmark
+    public int[] step2SampleK() {
+        return SAMPLER.sampleWithoutReplacement(x1Vertices, 2 * k, random);
+    }
+
+    @Benchmark
+    public SplitGraphView step3BuildSplitGraph() {
+
+        scratchFlow.reset(endpoints, kVertices);
+        return scratchFlow;
+    }
+
+    @Benchmark
+    public int step3MaximumFlow() {
+
+        scratchFlow.reset(endpoints, kVertices);
+        return scratchMaxFlow.calculateMaximumFlow(2 * k);
+    }
+
+    @Benchmark
+    public void step3Walks1(Blackhole blackhole) {
+
+        for (int start : startVertices) {
+
+            NetworkFlowWalk walk = new NetworkFlowWalk(flow, start);
+            walk.generateWalk();
+            blackhole.consume(walk);
+        }
+    }
+
+    @Benchmark
+    public void step3Walks5(Blackhole blackhole) {
+
+        for (int end : endVertices) {
+
+            NetworkFlowWalk walk = new NetworkFlowWalk(flow, end);
+            walk.generateWalk();
+            blackhole.consume(walk.reversed());
+        }
+    }
+
+
+    // ================== STEPS 4 - 5 ==========================
+
+    @Benchmark
+    public SubgraphLabels step4SplitY() {
+
+        scratchLabels.clearY();
+        SAMPLER.splitEvenly(scratchLabels, SubgraphLabels.UNASSIGNED, SubgraphLabels.Z1, SubgraphLabels.Z2, random);
+        return scratchLabels;
+    }
+
+    @Benchmark
+    public void step4Walks2(Blackhole blackhole) {
+        randomWalks(aTilde, blackhole);
+    }
+
+    @Benchmark
+    public void step4Walks4(Blackhole blackhole) {
+        randomWalks(bTilde, blackhole);
+    }
+
+    @Benchmark
+    public void step5Walks3(Blackhole blackhole) {
+
+        List<IntList> paths = new ArrayList<>(k);
+
+        for (int i = 0; i < k; i++) {
+
+            int aStar = RandomWalk.randomNeighbour(mainGraph, labels, SubgraphLabels.Z2, aHat[i], random);
+            int bStar = RandomWalk.randomNeighbour(mainGraph, labels, SubgraphLabels.Z2, bHat[i], random);
+
+            if (aStar == -1 || bStar == -1
+                || search.search(labels, SubgraphLabels.Z2, aStar, bStar) == SearchStatus.UNREACHABLE) {
+                continue;
+            }
+
+            IntList path = new IntList();
+            search.copyPath(path);
+            path.forEach(v -> labels.set(v, SubgraphLabels.CONSUMED));
+            paths.add(path);
+        }
+
+        blackhole.consume(paths);
+        paths.forEach(path -> path.forEach(v -> labels.set(v, SubgraphLabels.Z2)));
+    }
+
+
+    // ================== STEP 6 ==========================
+
+    @Benchmark
+    public void step6CycleFree(Blackhole blackhole) {
+
+        for (List<IntList> parts : walkParts) {
+
+            for (IntList part : parts) {
+                blackhole.consume(new FixedWalk(part).cycleFree(loopErasure));
+            }
+        }
+    }
+
+    @Benchmark
+    public void step6Concatenate(Blackhole blackhole) {
+
+        for (List<IntList> parts : walkParts) {
+
+            List<Walk> walks = new ArrayList<>(parts.size());
+            parts.forEach(part -> walks.add(new FixedWalk(part)));
+
+            ConnectedWalk connectedWalk = new ConnectedWalk(walks);
+            connectedWalk.generateWalk();
+            blackhole.consume(connectedWalk);
+        }
+    }
+
+
+    // ================== FULL SOLVE ==========================
+
+    @Benchmark
+    public VertexDisjointPaths fullSolve() {
+
+        VertexDisjointPaths vertexDisjointPaths;
+
+        do {
+            vertexDisjointPaths = new VertexDisjointPathsImpl(pairs, context);
+        } while (!vertexDisjointPaths.findDisjointPaths());
+
+        return vertexDisjointPaths;
+    }
+
+
+    /**
+     * Generates the random walks of W(2) or W(4) from random Z1-neighbours of {@code tildeVertices}.
+     */
+    private void randomWalks(int[] tildeVertices, Blackhole blackhole) {
+
+        List<IntList> paths = new ArrayList<>(k);
+
+        for (int wj : tildeVertices) {
+
+            int start = RandomWalk.randomNeighbour(mainGraph, labels, SubgraphLabels.Z1, wj, random);
+
+            if (start == -1) {
+                continue;
+            }
+
+            RandomWalk walk = new RandomWalk(mainGraph, labels, SubgraphLabels.Z1, start, lengthRandomWalk, random);
+            walk.generateWalk();
+            walk.getPath().forEach(v -> labels.set(v, SubgraphLabels.CONSUMED));
+            paths.add(walk.getPath());
+        }
+
+        blackhole.consume(paths);
+        paths.forEach(path -> path.forEach(v -> labels.set(v, SubgraphLabels.Z1)));
+    }
+
+
+    /**
+     * Runs Steps 1 - 3 until the maximum flow is 2k and extracts W(1) and W(5).
+     */
+    private void prepareFlow() {
+
+        do {
+            labels.clear();
+            x1Vertices = SAMPLER.sampleBernoulli(mainGraph.vertexCount(), 1.0 / 3.0, random);
+
+            for (int v : x1Vertices) {
+                labels.set(v, SubgraphLabels.X1);
+            }
+
+            kVertices = SAMPLER.sampleWithoutReplacement(x1Vertices.clone(), 2 * k, random);
+
+            for (int v : kVertices) {
+                labels.set(v, SubgraphLabels.K);
+            }
+
+            for (int v : endpoints) {
+                labels.set(v, SubgraphLabels.ENDPOINT);
+            }
+
+            flow.reset(endpoints, kVertices);
+
+        } while (new UnitCapacityMaxFlow(flow).calculateMaximumFlow(2 * k) != 2 * k);
+
+        aTilde = new int[k];
+        bTilde = new int[k];
+        walkParts = new ArrayList<>(k);
+
+        for (int i = 0; i < k; i++) {
+
+            NetworkFlowWalk walk1 = new NetworkFlowWalk(flow, startVertices[i]);
+            walk1.generateWalk();
+            aTilde[i] = walk1.getEndVertex();
+
+            NetworkFlowWalk walk5 = new NetworkFlowWalk(flow, endVertices[i]);
+            walk5.generateWalk();
+            bTilde[i] = walk5.getEndVertex();
+
+            List<IntList> parts = new ArrayList<>(5);
+            parts.add(walk1.getPath());
+            parts.add(walk5.reversed().getPath());
+            walkParts.add(parts);
+        }
+    }
+
+
+    /**
+     * Runs Steps 4 - 5 until every walk has been generated, keeps the split of Y and the walk ends,
+     * and gives the consumed vertices back.
+     */
+    private void prepareWalks() {
+
+        aHat = new int[k];
+        bHat = new int[k];
+
+        while (true) {
+
+            labels.clearY();
+            SAMPLER.splitEvenly(labels, SubgraphLabels.UNASSIGNED, SubgraphLabels.Z1, SubgraphLabels.Z2, random);
+
+            List<IntList> paths2 = new ArrayList<>(k);
+            List<IntList> paths3 = new ArrayList<>(k);
+            List<IntList> paths4 = new ArrayList<>(k);
+
+            if (prepareRandomWalks(aTilde, aHat, paths2, false)
+                && prepareRandomWalks(bTilde, bHat, paths4, true)
+                && prepareShortestPaths(paths3)) {
+
+                for (int i = 0; i < k; i++) {
+
+                    List<IntList> parts = walkParts.get(i);
+                    IntList walk5 = parts.remove(1);
+                    parts.add(paths2.get(i));
+                    parts.add(paths3.get(i));
+                    parts.add(paths4.get(i));
+                    parts.add(walk5);
+                }
+
+                // give the consumed vertices back to Z1 and Z2
+                paths2.forEach(path -> path.forEach(v -> labels.set(v, SubgraphLabels.Z1)));
+                paths4.forEach(path -> path.forEach(v -> labels.set(v, SubgraphLabels.Z1)));
+                paths3.forEach(path -> path.forEach(v -> labels.set(v, SubgraphLabels.Z2)));
+
+                scratchLabels.clear();
+
+                for (int v = 0; v < labels.size(); v++) {
+                    scratchLabels.set(v, labels.get(v));
+                }
+
+                return;
+            }
+        }
+    }
+
+    private boolean prepareRandomWalks(int[] tildeVertices, int[] hatVertices, List<IntList> paths, boolean reversed) {
+
+        for (int i = 0; i < k; i++) {
+
+            int start = RandomWalk.randomNeighbour(mainGraph, labels, SubgraphLabels.Z1, tildeVertices[i], random);
+
+            if (start == -1) {
+                return false;
+            }
+
+            RandomWalk walk = new RandomWalk(mainGraph, labels, SubgraphLabels.Z1, start, lengthRandomWalk, random);
+            walk.generateWalk();
+            walk.getPath().forEach(v -> labels.set(v, SubgraphLabels.CONSUMED));
+
+            hatVertices[i] = walk.getEndVertex();
+            paths.add(reversed ? walk.reversed().getPath() : walk.getPath());
+        }
+
+        return true;
+    }
+
+    private boolean prepareShortestPaths(List<IntList> paths) {
+
+        for (int i = 0; i < k; i++) {
+
+            int aStar = RandomWalk.randomNeighbour(mainGraph, labels, SubgraphLabels.Z2, aHat[i], random);
+            int bStar = RandomWalk.randomNeighbour(mainGraph, labels, SubgraphLabels.Z2, bHat[i], random);
+
+            if (aStar == -1 || bStar == -1
+                || search.search(labels, SubgraphLabels.Z2, aStar, bStar) == SearchStatus.UNREACHABLE) {
+                return false;
+            }
+
+            IntList path = new IntList();
+            search.copyPath(path);
+            path.forEach(v -> labels.set(v, SubgraphLabels.CONSUMED));
+            paths.add(path);
+        }
+
+        return true;
+    }
+}
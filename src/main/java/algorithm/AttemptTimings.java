@@ -0,0 +1,84 @@
+package algorithm;
+
+import enums.FailureReason;
+import enums.Stage;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The time, which one attempt spent in each {@link Stage}, in nanoseconds. The steps don't overlap, while
+ * every walk family is also counted in the step, which extracts it. Retried stages add up.
+ * <p>
+ * A failed attempt keeps the time of all stages up to the failure, and is tagged with its failure reason.
+ */
+public final class AttemptTimings {
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final long[] nanos = new long[STAGES.length];
+    private FailureReason failureReason;
+
+
+    public void add(Stage stage, long stageNanos) {
+        nanos[stage.ordinal()] += stageNanos;
+    }
+
+    public long getNanos(Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    /**
+     * @return the time of all steps, i.e. of the whole attempt.
+     */
+    public long getTotalNanos() {
+
+        long total = 0;
+
+        for (Stage stage : STAGES) {
+
+            if (stage.isStep()) {
+                total += nanos[stage.ordinal()];
+            }
+        }
+
+        return total;
+    }
+
+    public void setFailureReason(FailureReason failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    /**
+     * @return the reason, why the attempt failed, or empty if it succeeded.
+     */
+    public Optional<FailureReason> getFailureReason() {
+        return Optional.ofNullable(failureReason);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder res = new StringBuilder();
+
+        for (Stage stage : STAGES) {
+
+            // e.g. the steps after a failed one and the repair of an ordinary attempt don't run
+            if (nanos[stage.ordinal()] == 0) {
+                continue;
+            }
+
+            if (!res.isEmpty()) {
+                res.append(", ");
+            }
+
+            res.append(String.format(Locale.ROOT, "%s=%.3f ms", stage, nanos[stage.ordinal()] / 1e6));
+        }
+
+        if (failureReason != null) {
+            res.append(", failed: ").append(failureReason);
+        }
+
+        return res.toString();
+    }
+}
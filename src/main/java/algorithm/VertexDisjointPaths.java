@@ -1,6 +1,15 @@
 package algorithm;
 
+import enums.FailureReason;
 import exceptions.InvalidAlgorithmResultException;
+import output.PathSink;
+import util.IntList;
+import util.VertexPairs;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 
 public interface VertexDisjointPaths {
@@ -12,18 +21,71 @@ public interface VertexDisjointPaths {
     boolean findDisjointPaths();
 
     /**
-     * Verifies, that the result has unique vertices
-     * and the edges within each path exist.
+     * Prepares the solve of a changed pair set, which starts from this solution: the paths of {@code removedPairs}
+     * are released, the paths of the other pairs are kept, and only {@code addedPairs} are routed through
+     * the vertices, which no kept path uses. If a new pair cannot be routed, the returned attempt falls back
+     * to a full solve of the changed pair set.
+     *
+     * @param removedPairs pairs of this solution, which are dropped.
+     * @param addedPairs the new pairs.
+     * @return the attempt for the kept pairs in their order, followed by {@code addedPairs}.
+     * It is run with {@link #findDisjointPaths()}.
+     * @throws IllegalStateException if the disjoint paths of this solution have not been found.
+     * @throws IllegalArgumentException if a removed pair is no pair of this solution, or a new vertex doesn't
+     * exist, has been deleted, has no neighbours or is contained in another kept or new pair.
+     */
+    VertexDisjointPaths withChangedPairs(VertexPairs<Integer> removedPairs, VertexPairs<Integer> addedPairs);
+
+    /**
+     * Verifies, that the result has unique vertices, each path connects its pair
+     * and the edges within each path exist. Every violation is logged.
      * @throws InvalidAlgorithmResultException if the output of the algorithm is invalid.
      */
     void verifyResult() throws InvalidAlgorithmResultException;
 
 
     /**
-     * Prints the disjoint paths.
+     * @return the disjoint paths, one for each pair, in the order of the pairs.
+     */
+    List<IntList> getPaths();
+
+
+    /**
+     * @return the pairs of start and end vertices.
+     */
+    VertexPairs<Integer> getPairs();
+
+
+    /**
+     * @return true, if the paths were found by repairing a previous solution instead of a full solve.
+     */
+    boolean isRepaired();
+
+
+    /**
+     * Streams the disjoint paths to {@code sink}, in the order of the pairs.
+     * @throws IOException if the sink cannot write a path.
      */
-    void printDisjointPaths();
+    void writeDisjointPaths(PathSink sink) throws IOException;
 
 
     long getAlgorithmDuration();
+
+
+    /**
+     * @return the time of each step and each walk family of this attempt, also if it failed.
+     */
+    AttemptTimings getTimings();
+
+
+    /**
+     * @return the number of stage retries within this attempt, by the reason of the failed stage.
+     */
+    Map<FailureReason, Integer> getRetries();
+
+
+    /**
+     * @return the reason, why this attempt failed, or empty if it succeeded.
+     */
+    Optional<FailureReason> getFailureReason();
 }
@@ -0,0 +1,116 @@
+package algorithm.impl;
+
+import graph.IntGraph;
+import util.IntList;
+import util.VertexPairs;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Verifies a result of the algorithm: every path connects its pair, consecutive vertices of a path
+ * are adjacent and no vertex is contained in two paths or twice in one path.
+ * <p>
+ * The paths are checked in parallel. Every vertex is claimed by its path with a compare-and-set
+ * on an owner array, so a vertex, which is claimed a second time, reveals both paths containing it.
+ * Adjacency is a binary search in the sorted neighbours of {@link IntGraph#neighbourIndex(int, int)}.
+ * All violations are collected instead of stopping at the first one.
+ */
+public final class ResultVerifier {
+
+    /**
+     * Results with less vertices are verified on the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final IntGraph graph;
+
+
+    public ResultVerifier(IntGraph graph) {
+        this.graph = graph;
+    }
+
+
+    /**
+     * @param pairs the pairs of start and end vertices.
+     * @param paths one path for each pair, in the order of the pairs.
+     * @return the violations ordered by path, or an empty list if the result is valid.
+     */
+    public List<String> verify(VertexPairs<Integer> pairs, List<IntList> paths) {
+
+        List<Violation> violations = new ArrayList<>();
+
+        if (paths.size() != pairs.getSize()) {
+            violations.add(new Violation(-1, "%d paths for %d pairs".formatted(paths.size(), pairs.getSize())));
+        }
+
+        // owner[v] is 1 + the index of the path, which contains v, or 0
+        AtomicIntegerArray owner = new AtomicIntegerArray(graph.vertexCount());
+        ConcurrentLinkedQueue<Violation> found = new ConcurrentLinkedQueue<>();
+
+        IntStream indices = IntStream.range(0, Math.min(paths.size(), pairs.getSize()));
+        long vertices = paths.stream().mapToLong(IntList::size).sum();
+
+        if (vertices >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+
+        indices.forEach(i -> verifyPath(i, pairs, paths.get(i), owner, found));
+
+        violations.addAll(found);
+        violations.sort(Comparator.comparingInt(Violation::path));
+
+        return violations.stream().map(Violation::message).toList();
+    }
+
+
+    private void verifyPath(int i,
+                            VertexPairs<Integer> pairs,
+                            IntList path,
+                            AtomicIntegerArray owner,
+                            ConcurrentLinkedQueue<Violation> violations) {
+
+        int start = pairs.getStartVertices().get(i);
+        int end = pairs.getEndVertices().get(i);
+
+        if (path.isEmpty() || path.getFirst() != start || path.getLast() != end) {
+
+            violations.add(new Violation(i, "Walk %d doesn't connect %d and %d"
+                .formatted(i + 1, graph.labelOf(start), graph.labelOf(end))));
+        }
+
+        for (int j = 0; j < path.size(); j++) {
+
+            int currentVertex = path.get(j);
+
+            // Are the current and the previous vertex neighbours?
+            if (j > 0 && !graph.hasEdge(path.get(j - 1), currentVertex)) {
+
+                violations.add(new Violation(i, "Edge %d - %d in walk %d doesn't exist"
+                    .formatted(graph.labelOf(path.get(j - 1)), graph.labelOf(currentVertex), i + 1)));
+            }
+
+            // Is the current vertex unique?
+            int previousOwner = owner.compareAndExchange(currentVertex, 0, i + 1);
+
+            if (previousOwner == i + 1) {
+
+                violations.add(new Violation(i, "Vertex %d is contained twice in walk %d"
+                    .formatted(graph.labelOf(currentVertex), i + 1)));
+
+            } else if (previousOwner != 0) {
+
+                violations.add(new Violation(i, "Vertex %d in walk %d is contained also in walk %d."
+                    .formatted(graph.labelOf(currentVertex), i + 1, previousOwner)));
+            }
+        }
+    }
+
+
+    private record Violation(int path, String message) {
+    }
+}
@@ -0,0 +1,95 @@
+package algorithm.impl;
+
+import algorithm.VertexDisjointPaths;
+import flow.SplitGraphView;
+import flow.UnitCapacityMaxFlow;
+import graph.IntGraph;
+import graph.SubgraphLabels;
+import search.BidirectionalBfs;
+import walks.LoopErasure;
+
+import java.util.SplittableRandom;
+
+/**
+ * The mutable state of a solve: its random number generator, the vertex labels, the flow network and
+ * the scratch buffers of the searches. Nothing of it is shared between solves, so one loaded graph can
+ * serve many concurrent {@link VertexDisjointPathsImpl#findDisjointPaths()} calls, each with its own context.
+ * <p>
+ * A context is not thread-safe. It is meant to be owned by one thread, which reuses it for all of
+ * its attempts, so the arrays over all vertices are allocated once per thread instead of once per attempt.
+ */
+public final class SolveContext {
+
+    private final IntGraph graph;
+    private final SplittableRandom random;
+    private final SubgraphLabels labels;
+    private final SplitGraphView flow;
+    private final UnitCapacityMaxFlow maxFlow;
+    private final BidirectionalBfs search;
+    private final LoopErasure loopErasure;
+    private VertexDisjointPaths labelledSolution;
+
+
+    public SolveContext(IntGraph graph) {
+        this(graph, new SplittableRandom());
+    }
+
+
+    public SolveContext(IntGraph graph, SplittableRandom random) {
+
+        this.graph = graph;
+        this.random = random;
+        this.labels = new SubgraphLabels(graph.vertexCount());
+        this.flow = new SplitGraphView(graph, labels);
+        this.maxFlow = new UnitCapacityMaxFlow(flow);
+        this.search = new BidirectionalBfs(graph);
+        this.loopErasure = new LoopErasure(graph.vertexCount());
+    }
+
+
+    public IntGraph graph() {
+        return graph;
+    }
+
+    public SplittableRandom random() {
+        return random;
+    }
+
+    public SubgraphLabels labels() {
+        return labels;
+    }
+
+    /**
+     * @return the split graph X, whose start and target vertices are set with {@link SplitGraphView#reset}.
+     */
+    public SplitGraphView flow() {
+        return flow;
+    }
+
+    /**
+     * @return the maximum flow engine, which runs on {@link #flow()}.
+     */
+    public UnitCapacityMaxFlow maxFlow() {
+        return maxFlow;
+    }
+
+    public BidirectionalBfs search() {
+        return search;
+    }
+
+    public LoopErasure loopErasure() {
+        return loopErasure;
+    }
+
+    /**
+     * @return the solution, whose path vertices are the vertices labelled {@link SubgraphLabels#CONSUMED},
+     * or null, if an attempt has changed the labels since.
+     */
+    VertexDisjointPaths labelledSolution() {
+        return labelledSolution;
+    }
+
+    void setLabelledSolution(VertexDisjointPaths solution) {
+        this.labelledSolution = solution;
+    }
+}
@@ -1,50 +1,59 @@
 package algorithm.impl;
 
+import algorithm.AttemptTimings;
 import algorithm.VertexDisjointPaths;
+import enums.FailureReason;
+import enums.Stage;
 import exceptions.AlgorithmInterruptedException;
 import exceptions.InvalidAlgorithmResultException;
+import flow.SplitGraphView;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jgrapht.Graph;
-import org.jgrapht.Graphs;
-import org.jgrapht.alg.flow.EdmondsKarpMFImpl;
-
-import org.jgrapht.graph.DefaultWeightedEdge;
-import org.jgrapht.graph.AsSubgraph;
-import org.jgrapht.graph.SimpleDirectedWeightedGraph;
-
+import output.PathSink;
+import sampling.RandomStreams;
+import sampling.VertexSampler;
+import search.BidirectionalBfs;
+import graph.IntGraph;
+import graph.SubgraphLabels;
+
+import util.IntList;
 import util.VertexPairs;
 
 import walks.Walk;
 import walks.ConnectedWalk;
+import walks.FreePathWalk;
+import walks.LoopErasure;
 import walks.NetworkFlowWalk;
 import walks.RandomWalk;
 import walks.ShortestPathWalk;
 
-import java.util.Random;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Optional;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Set;
 import java.util.Map;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Set;
 import java.util.LinkedList;
-import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.SplittableRandom;
 
 
 
 public class VertexDisjointPathsImpl implements VertexDisjointPaths {
 
 
-    private static final Random RANDOM = new Random();
+    private static final int MAX_STAGE_RETRIES = 3;
+    private static final VertexSampler SAMPLER = new VertexSampler();
     private static final Logger LOGGER = LogManager.getLogger(VertexDisjointPathsImpl.class);
 
 
     // ================== STEP 3 VARIABLES ==========================
-    private final List<Integer> aTildeVertices = new ArrayList<>();
-    private final List<Integer> bTildeVertices = new ArrayList<>();
-    private static final int NETWORK_FLOW_SOURCE = Integer.MIN_VALUE;
-    private static final int NETWORK_FLOW_SINK = Integer.MAX_VALUE;
+    private final IntList aTildeVertices = new IntList();
+    private final IntList bTildeVertices = new IntList();
 
 
     // ================== STEP 4 VARIABLES ==========================
@@ -52,25 +61,80 @@ public class VertexDisjointPathsImpl implements VertexDisjointPaths {
     private final List<Integer> bHatVertices = new ArrayList<>();
 
 
-    private final Graph<Integer, DefaultWeightedEdge> mainGraph;
+    private final IntGraph mainGraph;
     private final VertexPairs<Integer> pairs;
     private final int numberPairs;
     private final int lengthRandomWalk;
-    private List<Walk<Integer>> result;
+    private final SolveContext context;
+    private final RandomStreams streams;
+    // the solution, which this attempt repairs, and the indices of its pairs, which are kept
+    private final VertexDisjointPathsImpl previous;
+    private final IntList keptPairs;
+    private boolean repaired;
+    // the number of the current split of Y, which the random walks and shortest paths derive their streams from
+    private int splitRound;
+    private final SubgraphLabels labels;
+    private List<Walk> result;
+    private FailureReason failureReason;
+    private final Map<FailureReason, Integer> retries = new EnumMap<>(FailureReason.class);
+    private final AttemptTimings timings = new AttemptTimings();
 
 
     private long algorithmDuration;
 
 
 
-    public VertexDisjointPathsImpl(Graph<Integer, DefaultWeightedEdge> mainGraph,
+    public VertexDisjointPathsImpl(IntGraph mainGraph,
                                    VertexPairs<Integer> vertexPairs) {
-        
-        this.mainGraph = mainGraph;
-        this.pairs = vertexPairs;
+        this(vertexPairs, new SolveContext(mainGraph));
+    }
+
+
+    /**
+     * Initializes an attempt, which keeps all of its mutable state in {@code context} and draws its
+     * random numbers from the next seed of the context's generator.
+     *
+     * @param vertexPairs the pairs of start and end vertices.
+     * @param context the context of the solve, which must not be used by another attempt at the same time.
+     */
+    public VertexDisjointPathsImpl(VertexPairs<Integer> vertexPairs,
+                                   SolveContext context) {
+        this(vertexPairs, context, new RandomStreams(context.random().nextLong()));
+    }
+
+
+    /**
+     * Initializes an attempt, which keeps all of its mutable state in {@code context}.
+     * Attempts with different contexts can run concurrently on the same graph.
+     *
+     * @param vertexPairs the pairs of start and end vertices.
+     * @param context the context of the solve, which must not be used by another attempt at the same time.
+     * @param streams the random streams of this attempt. Two attempts with the same seed do the same work.
+     */
+    public VertexDisjointPathsImpl(VertexPairs<Integer> vertexPairs,
+                                   SolveContext context,
+                                   RandomStreams streams) {
+        this(vertexPairs, context, streams, null, null);
+    }
+
+
+    private VertexDisjointPathsImpl(VertexPairs<Integer> vertexPairs,
+                                    SolveContext context,
+                                    RandomStreams streams,
+                                    VertexDisjointPathsImpl previous,
+                                    IntList keptPairs) {
 
-        int numberEdges = mainGraph.edgeSet().size();
-        int numberVertices = mainGraph.vertexSet().size();
+        this.mainGraph = context.graph();
+        this.pairs = vertexPairs;
+        this.context = context;
+        this.streams = streams;
+        this.previous = previous;
+        this.keptPairs = keptPairs;
+        this.labels = context.labels();
+
+        int numberEdges = mainGraph.edgeCount();
+        // the deleted vertices of a changed graph keep their ids, but are no part of it
+        int numberVertices = mainGraph.liveVertexCount();
         this.numberPairs = pairs.getSize();
 
         double d = ((double) (2 * numberEdges)) / numberVertices;
@@ -83,123 +147,451 @@ public class VertexDisjointPathsImpl implements VertexDisjointPaths {
     public boolean findDisjointPaths() {
 
         LOGGER.debug("Finding vertex disjoint paths in a graph with {} vertices and {} edges",
-            mainGraph.vertexSet().size(),
-            mainGraph.edgeSet().size());
+            mainGraph.vertexCount(),
+            mainGraph.edgeCount());
 
         long start = System.currentTimeMillis();
 
-        //================| STEP 1 |===================
+        if (previous != null) {
 
-        Set<Integer> x1Vertices = partitionVerticesIntoX1(mainGraph.vertexSet());
+            try {
+                this.result = timed(Stage.REPAIR, this::repairPaths);
+                this.repaired = true;
+                context.setLabelledSolution(this);
 
-        Set<Integer> xVertices = new HashSet<>();
-        xVertices.addAll(x1Vertices);
-        xVertices.addAll(pairs.getAllVertices());
+                algorithmDuration = System.currentTimeMillis() - start;
+                return true;
 
-        //================| STEP 2 |===================
+            } catch (AlgorithmInterruptedException e) {
+
+                if (e.getReason() == FailureReason.CANCELLED) {
+
+                    failureReason = e.getReason();
+                    timings.setFailureReason(failureReason);
+                    context.setLabelledSolution(null);
+                    return false;
+                }
+
+                recordRetry(e.getReason());
+                LOGGER.debug("Cannot repair the previous solution, solving all {} pairs", numberPairs);
+            }
+        }
+
+        context.setLabelledSolution(null);
 
-        Set<Integer> kVertices;
         try {
-            kVertices = putRandomVerticesInK(x1Vertices);
+            this.result = findConnectedWalks();
         } catch (AlgorithmInterruptedException e) {
+
+            failureReason = e.getReason();
+            timings.setFailureReason(failureReason);
+            LOGGER.debug("Attempt failed: {}", timings);
             return false;
         }
 
-        //================| STEP 3 |===================
+        labelPaths(result);
+        context.setLabelledSolution(this);
 
-        Graph<Integer, DefaultWeightedEdge> splitGraphX =
-            createCloneGraphAndSplitVertices(new AsSubgraph<>(mainGraph, xVertices));
+        long end = System.currentTimeMillis();
 
-        List<Integer> kVerticesList = new ArrayList<>(kVertices);
+        algorithmDuration = end - start;
 
+        return true;
+    }
 
-        List<Walk<Integer>> walks1;
-        List<Walk<Integer>> walks5;
 
-        try {
-            NetworkFlowWalk.setFlowMap(createFlowMap(splitGraphX, kVerticesList));
-        } catch (AlgorithmInterruptedException e) {
-            return false;
+    @Override
+    public VertexDisjointPaths withChangedPairs(VertexPairs<Integer> removedPairs, VertexPairs<Integer> addedPairs) {
+
+        if (result == null) {
+            throw new IllegalStateException("The disjoint paths have not been found");
         }
 
-        walks1 = extractWalks1(splitGraphX);
-        walks5 = extractWalks5(splitGraphX);
+        Map<Long, Integer> pairIndex = HashMap.newHashMap(numberPairs);
 
+        for (int i = 0; i < numberPairs; i++) {
+            pairIndex.put(pairKey(pairs.getStartVertices().get(i), pairs.getEndVertices().get(i)), i);
+        }
 
-        //================| STEP 4 |===================
+        boolean[] removed = new boolean[numberPairs];
 
-        // Put all vertices, which are not in X, in Y
-        Set<Integer> yVertices = mainGraph.vertexSet().stream()
-            .filter(v -> !xVertices.contains(v))
-            .collect(Collectors.toSet());
+        for (int j = 0; j < removedPairs.getSize(); j++) {
 
-        // Partition randomly Y in Z1 and Z2
-        Map<Boolean, Set<Integer>> zVerticesMap = yVertices.stream()
-            .collect(Collectors.partitioningBy(v -> RANDOM.nextDouble() <= 1.0 / 2.0, Collectors.toSet()));
+            int start = removedPairs.getStartVertices().get(j);
+            int end = removedPairs.getEndVertices().get(j);
+            Integer i = pairIndex.remove(pairKey(start, end));
 
+            if (i == null) {
+                throw new IllegalArgumentException("(%d, %d) is no pair of the solution".formatted(start, end));
+            }
 
-        Set<Integer> z1Vertices = zVerticesMap.get(true);
-        Set<Integer> z2Vertices = zVerticesMap.get(false);
+            removed[i] = true;
+        }
 
+        VertexPairs<Integer> changedPairs = new VertexPairs<>();
+        IntList kept = new IntList();
+        Set<Integer> endpoints = HashSet.newHashSet(2 * (numberPairs + addedPairs.getSize()));
 
-        // Generate random walks
-        List<Walk<Integer>> walks2;
-        List<Walk<Integer>> walks4;
-        Graph<Integer, DefaultWeightedEdge> graphJ = new AsSubgraph<>(mainGraph, z1Vertices);
+        for (int i = 0; i < numberPairs; i++) {
 
-        try {
-            walks2 = extractWalks2(graphJ);
-            walks4 = extractWalks4(graphJ);
-        } catch (AlgorithmInterruptedException e) {
-            return false;
+            if (!removed[i]) {
+
+                kept.add(i);
+                changedPairs.addOneVertexPair(pairs.getStartVertices().get(i), pairs.getEndVertices().get(i));
+                endpoints.add(pairs.getStartVertices().get(i));
+                endpoints.add(pairs.getEndVertices().get(i));
+            }
         }
 
+        for (int j = 0; j < addedPairs.getSize(); j++) {
 
-        //================| STEP 5 |===================
+            int start = addedPairs.getStartVertices().get(j);
+            int end = addedPairs.getEndVertices().get(j);
 
-        Graph<Integer, DefaultWeightedEdge> graphHat = new AsSubgraph<>(mainGraph, z2Vertices);
-        List<Walk<Integer>> walks3;
+            if (start < 0 || start >= mainGraph.vertexCount() || end < 0 || end >= mainGraph.vertexCount()) {
+                throw new IllegalArgumentException("(%d, %d) is no pair of vertices of the graph".formatted(start, end));
+            }
 
-        try {
-            walks3 = extractWalks3(graphHat);
-        } catch (AlgorithmInterruptedException e) {
-            return false;
+            // a deleted or isolated vertex cannot be left by any path
+            if (!mainGraph.isLive(start) || mainGraph.degree(start) == 0
+                || !mainGraph.isLive(end) || mainGraph.degree(end) == 0) {
+                throw new IllegalArgumentException("(%d, %d) has a vertex without neighbours".formatted(start, end));
+            }
+
+            if (!endpoints.add(start) || !endpoints.add(end)) {
+                throw new IllegalArgumentException("The pairs are not disjoint: (%d, %d)".formatted(start, end));
+            }
+
+            changedPairs.addOneVertexPair(start, end);
         }
 
-        
-        //================| STEP 6 |===================
+        return new VertexDisjointPathsImpl(changedPairs, context, streams.child(Stage.REPAIR.ordinal()), this, kept);
+    }
+
 
-        List<Walk<Integer>> connectedWalks = new ArrayList<>(numberPairs);
+    private static long pairKey(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
 
 
-        for (int i = 0; i < numberPairs; i++) {
+    /**
+     * Keeps the paths of the kept pairs and routes every new pair on a shortest path through the vertices,
+     * which are on no other path. If the context hasn't been used by another attempt since the previous solution,
+     * exactly the vertices of its paths are still labelled {@link SubgraphLabels#CONSUMED}, so the repair costs
+     * the released paths and the searches of the new pairs, and not the size of the graph.
+     *
+     * @return the paths of all pairs.
+     * @throws AlgorithmInterruptedException if a new endpoint lies on a kept path, or the kept paths separate
+     * a new pair.
+     */
+    private List<Walk> repairPaths() throws AlgorithmInterruptedException {
 
-            List<Walk<Integer>> walkParts = new LinkedList<>();
+        if (context.labelledSolution() != previous) {
+            labelPaths(previous.result);
+        }
+
+        boolean[] kept = new boolean[previous.numberPairs];
+        List<Walk> walks = new ArrayList<>(numberPairs);
 
-            walkParts.add(walks1.get(i).cycleFree());
-            walkParts.add(walks2.get(i).cycleFree());
-            walkParts.add(walks3.get(i).cycleFree());
-            walkParts.add(walks4.get(i).cycleFree());
-            walkParts.add(walks5.get(i).cycleFree());
+        keptPairs.forEach(i -> {
+            kept[i] = true;
+            walks.add(previous.result.get(i));
+        });
 
-            Walk<Integer> connectedWalk = new ConnectedWalk<>(walkParts);
+        // the vertices of the removed paths are free again
+        for (int i = 0; i < previous.numberPairs; i++) {
+
+            if (!kept[i]) {
+                previous.result.get(i).getPath().forEach(v -> labels.set(v, SubgraphLabels.UNASSIGNED));
+            }
+        }
+
+        // the endpoints of the new pairs must not be used by the paths of the other new pairs. They are distinct
+        // from each other and from the kept endpoints, but may lie inside a kept path
+        for (int i = keptPairs.size(); i < numberPairs; i++) {
+            consumeEndpoint(pairs.getStartVertices().get(i));
+            consumeEndpoint(pairs.getEndVertices().get(i));
+        }
+
+        BidirectionalBfs search = context.search();
+
+        for (int i = keptPairs.size(); i < numberPairs; i++) {
+
+            checkCancelled();
+
+            Walk walk = new FreePathWalk(search, labels, pairs.getStartVertices().get(i), pairs.getEndVertices().get(i));
+            walk.generateWalk();
+
+            walk.getPath().forEach(v -> labels.set(v, SubgraphLabels.CONSUMED));
+            walks.add(walk);
+        }
+
+        LOGGER.debug("Repaired the solution with {} kept and {} new pairs", keptPairs.size(), numberPairs - keptPairs.size());
+
+        return walks;
+    }
+
+    private void consumeEndpoint(int v) throws AlgorithmInterruptedException {
+
+        if (labels.is(v, SubgraphLabels.CONSUMED)) {
+
+            String message = "%d is on a kept path".formatted(v);
+            LOGGER.debug(message);
+            throw new AlgorithmInterruptedException(FailureReason.ENDPOINT_ON_KEPT_PATH, message);
+        }
+
+        labels.set(v, SubgraphLabels.CONSUMED);
+    }
+
+    /**
+     * Labels the vertices of {@code walks} as {@link SubgraphLabels#CONSUMED} and all other vertices as
+     * {@link SubgraphLabels#UNASSIGNED}, which a later {@link #withChangedPairs} may use. The labels depend only
+     * on the paths, and not on the sets and walks of the attempt, which found them, so a repair does the same
+     * on every context.
+     */
+    private void labelPaths(List<Walk> walks) {
+
+        labels.clear();
+
+        for (Walk walk : walks) {
+            walk.getPath().forEach(v -> labels.set(v, SubgraphLabels.CONSUMED));
+        }
+    }
+
+
+    /**
+     * Executes the six steps of the algorithm. A failed stage is resampled, as long as the work of the
+     * earlier steps stays valid for it:
+     * <ul>
+     *     <li>if the maximum flow is too small, K is chosen again from the same X1.</li>
+     *     <li>if a random walk or a shortest path cannot be generated, Y is split again into Z1 and Z2,
+     *     keeping the flow and the network flow walks.</li>
+     *     <li>if a shortest path is unreachable, its end vertices are chosen again, keeping the walks
+     *     of the other pairs.</li>
+     * </ul>
+     *
+     * @return the connected walks, one for each pair.
+     * @throws AlgorithmInterruptedException if a stage fails more often than its retry budget allows.
+     */
+    private List<Walk> findConnectedWalks() throws AlgorithmInterruptedException {
+
+        //================| STEP 1 |===================
+
+        int[] x1Vertices = timed(Stage.STEP_1, () -> {
+
+            labels.clear();
+
+            int[] x1 = partitionVerticesIntoX1();
+
+            for (int v : x1) {
+                labels.set(v, SubgraphLabels.X1);
+            }
+
+            return x1;
+        });
+
+        //================| STEP 2 |===================
+
+        SplitGraphView flow;
+
+        for (int retry = 0; ; retry++) {
+
+            int round = retry;
+
+            int[] kVertices = timed(Stage.STEP_2, () -> {
+
+                int[] k = putRandomVerticesInK(x1Vertices, randomOf(Stage.STEP_2, round));
+
+                for (int v : k) {
+                    labels.set(v, SubgraphLabels.K);
+                }
+
+                pairs.getAllVertices().forEach(v -> labels.set(v, SubgraphLabels.ENDPOINT));
+
+                return k;
+            });
+
+            //================| STEP 3 |===================
+
+            checkCancelled();
 
             try {
-                connectedWalk.generateWalk();
+                flow = timed(Stage.STEP_3, () -> createFlow(kVertices));
+                break;
             } catch (AlgorithmInterruptedException e) {
-                return false;
+
+                if (retry == MAX_STAGE_RETRIES) {
+                    throw e;
+                }
+
+                recordRetry(e.getReason());
+
+                for (int v : kVertices) {
+                    labels.set(v, SubgraphLabels.X1);
+                }
             }
+        }
+
+        SplitGraphView maximumFlow = flow;
+        List<Walk> walks1 = timed(Stage.STEP_3, Stage.WALKS_1, () -> extractWalks1(maximumFlow));
+        List<Walk> walks5 = timed(Stage.STEP_3, Stage.WALKS_5, () -> extractWalks5(maximumFlow));
+
+
+        //================| STEP 4 |===================
+
+        List<Walk> walks2;
+        List<Walk> walks3;
+        List<Walk> walks4;
+
+        for (int retry = 0; ; retry++) {
+
+            checkCancelled();
+
+            boolean resplit = retry > 0;
+            splitRound = retry;
+
+            timed(Stage.STEP_4, () -> {
+
+                if (resplit) {
+                    labels.clearY();
+                    aHatVertices.clear();
+                    bHatVertices.clear();
+                }
+
+                // All vertices, which are not in X, are in Y. Partition randomly Y in Z1 and Z2
+                SAMPLER.splitEvenly(labels,
+                    SubgraphLabels.UNASSIGNED,
+                    SubgraphLabels.Z1,
+                    SubgraphLabels.Z2,
+                    randomOf(Stage.STEP_4, splitRound));
+
+                return labels;
+            });
+
+            try {
+
+                // Generate random walks
+                walks2 = timed(Stage.STEP_4, Stage.WALKS_2, this::extractWalks2);
+                walks4 = timed(Stage.STEP_4, Stage.WALKS_4, this::extractWalks4);
+
+                //================| STEP 5 |===================
+
+                checkCancelled();
+
+                walks3 = timed(Stage.STEP_5, Stage.WALKS_3, this::extractWalks3);
+                break;
+
+            } catch (AlgorithmInterruptedException e) {
+
+                if (retry == MAX_STAGE_RETRIES || e.getReason() == FailureReason.CANCELLED) {
+                    throw e;
+                }
+
+                recordRetry(e.getReason());
+            }
+        }
+
+
+        //================| STEP 6 |===================
+
+        checkCancelled();
+
+        long step6Start = System.nanoTime();
+
+        try {
+            return connectWalks(walks1, walks2, walks3, walks4, walks5);
+        } finally {
+            timings.add(Stage.STEP_6, System.nanoTime() - step6Start);
+        }
+    }
+
+
+    /**
+     * Removes the cycles of all walks and connects the five walks of each pair.
+     *
+     * @return the connected walks, one for each pair.
+     */
+    private List<Walk> connectWalks(List<Walk> walks1,
+                                    List<Walk> walks2,
+                                    List<Walk> walks3,
+                                    List<Walk> walks4,
+                                    List<Walk> walks5) throws AlgorithmInterruptedException {
+
+        List<Walk> connectedWalks = new ArrayList<>(numberPairs);
+        LoopErasure loopErasure = context.loopErasure();
+
+
+        for (int i = 0; i < numberPairs; i++) {
+
+            List<Walk> walkParts = new LinkedList<>();
+
+            walkParts.add(walks1.get(i).cycleFree(loopErasure));
+            walkParts.add(walks2.get(i).cycleFree(loopErasure));
+            walkParts.add(walks3.get(i).cycleFree(loopErasure));
+            walkParts.add(walks4.get(i).cycleFree(loopErasure));
+            walkParts.add(walks5.get(i).cycleFree(loopErasure));
+
+            Walk connectedWalk = new ConnectedWalk(walkParts);
+            connectedWalk.generateWalk();
 
             connectedWalks.add(connectedWalk);
         }
+        return connectedWalks;
+    }
 
-        this.result = connectedWalks;
 
-        long end = System.currentTimeMillis();
+    /**
+     * Runs a part of a stage and adds its time to the stage, also if the part fails.
+     */
+    private <T> T timed(Stage stage, StagePart<T> part) throws AlgorithmInterruptedException {
 
-        algorithmDuration = end - start;
+        long stageStart = System.nanoTime();
 
-        return true;
+        try {
+            return part.run();
+        } finally {
+            timings.add(stage, System.nanoTime() - stageStart);
+        }
+    }
+
+    /**
+     * Runs the extraction of a walk family and adds its time to the family and to the step, which it belongs to.
+     */
+    private <T> T timed(Stage step, Stage walkFamily, StagePart<T> part) throws AlgorithmInterruptedException {
+
+        long stageStart = System.nanoTime();
+
+        try {
+            return part.run();
+        } finally {
+
+            long stageNanos = System.nanoTime() - stageStart;
+            timings.add(step, stageNanos);
+            timings.add(walkFamily, stageNanos);
+        }
+    }
+
+
+    private void recordRetry(FailureReason reason) {
+
+        LOGGER.debug("Retrying the failed stage: {}", reason);
+        retries.merge(reason, 1, Integer::sum);
+    }
+
+
+    /**
+     * An attempt, which runs in a thread that has been interrupted, e.g. because another attempt
+     * has already succeeded, stops at the next step boundary.
+     *
+     * @throws AlgorithmInterruptedException if the current thread is interrupted.
+     */
+    private void checkCancelled() throws AlgorithmInterruptedException {
+
+        if (Thread.currentThread().isInterrupted()) {
+
+            LOGGER.debug("Attempt cancelled");
+            throw new AlgorithmInterruptedException(FailureReason.CANCELLED, "Attempt cancelled");
+        }
     }
 
 
@@ -210,133 +602,141 @@ public class VertexDisjointPathsImpl implements VertexDisjointPaths {
 
 
     @Override
-    public void verifyResult() throws InvalidAlgorithmResultException {
-
-        LOGGER.trace("Verifying result.");
-
-        Map<Integer, Integer> disjointVerticesMap = new HashMap<>();
-
+    public AttemptTimings getTimings() {
+        return timings;
+    }
 
-        for (int i = 0; i < result.size(); i++) {
 
-            List<Integer> path = result.get(i).getPath();
+    @Override
+    public Map<FailureReason, Integer> getRetries() {
+        return Collections.unmodifiableMap(retries);
+    }
 
-            for (int j = 0; j < path.size(); j++) {
 
-                int currentVertex = path.get(j);
+    @Override
+    public Optional<FailureReason> getFailureReason() {
+        return Optional.ofNullable(failureReason);
+    }
 
-                // Are the current and the previous vertex neighbours?
-                if (j > 0 && mainGraph.getEdge(path.get(j - 1), currentVertex) == null) {
 
-                    int prevVertex = path.get(j - 1);
-                    String message =
-                        "Edge %d - %d in walk %d doesn't exist".formatted(prevVertex, currentVertex, i + 1);
+    @Override
+    public void verifyResult() throws InvalidAlgorithmResultException {
 
-                    throw new InvalidAlgorithmResultException(message);
-                }
+        LOGGER.trace("Verifying result.");
 
-                // Is the current vertex unique?
-                if (disjointVerticesMap.containsKey(currentVertex)) {
+        List<String> violations = new ResultVerifier(mainGraph).verify(pairs, getPaths());
 
-                    String message =
-                        "Vertex %d in walk %d is contained also in walk %d."
-                            .formatted(currentVertex, i + 1, disjointVerticesMap.get(currentVertex) + 1);
+        if (!violations.isEmpty()) {
 
-                    throw new InvalidAlgorithmResultException(message);
-                }
+            violations.forEach(LOGGER::error);
 
-                disjointVerticesMap.put(currentVertex, i);
-            }
+            throw new InvalidAlgorithmResultException("%d violations, the first: %s"
+                .formatted(violations.size(), violations.getFirst()));
         }
 
         LOGGER.info("Result verified!");
     }
 
     @Override
-    public void printDisjointPaths() {
+    public List<IntList> getPaths() {
+        return result.stream().map(Walk::getPath).toList();
+    }
+
+    @Override
+    public VertexPairs<Integer> getPairs() {
+        return pairs;
+    }
 
-        LOGGER.trace("Printing paths.");
+    @Override
+    public boolean isRepaired() {
+        return repaired;
+    }
 
-        for (int i = 0; i < result.size(); i++) {
+    @Override
+    public void writeDisjointPaths(PathSink sink) throws IOException {
 
-            LOGGER.info("Path {}: {} ", (i + 1), result.get(i));
+        LOGGER.trace("Writing paths.");
+
+        for (Walk walk : result) {
+            sink.write(walk.getPath());
         }
     }
 
     /**
-     * Chooses uniformly vertices from {@code x1VertexSet} and puts them in a {@code K} vertex set.
+     * Chooses uniformly 2 * k vertices from {@code x1Vertices}, namely K.
      *
-     * @param x1VertexSet vertex set to be chosen from.
-     * @return a set of vertices, namely K.
+     * @param x1Vertices vertices to be chosen from. Their order is changed.
+     * @param random the random number generator.
+     * @return the vertices of K.
      * @throws AlgorithmInterruptedException if the size of K is  bigger than X1.
      */
-    private Set<Integer> putRandomVerticesInK(Set<Integer> x1VertexSet) throws AlgorithmInterruptedException {
+    private int[] putRandomVerticesInK(int[] x1Vertices, SplittableRandom random)
+        throws AlgorithmInterruptedException {
 
         LOGGER.trace("Partitioning X1 into K");
 
         final int kVertexSetCapacity = 2 * numberPairs;
 
-        if (x1VertexSet.size() < kVertexSetCapacity) {
+        if (x1Vertices.length < kVertexSetCapacity) {
 
             String message = "K is bigger than X1";
             LOGGER.error(message);
-            throw new AlgorithmInterruptedException(message);
+            throw new AlgorithmInterruptedException(FailureReason.K_BIGGER_THAN_X1, message);
         }
 
-        Set<Integer> kVertexSet = HashSet.newHashSet(kVertexSetCapacity);
+        return SAMPLER.sampleWithoutReplacement(x1Vertices, kVertexSetCapacity, random);
+    }
 
-        while (kVertexSet.size() != kVertexSetCapacity) {
 
-            int randomIndex = RANDOM.nextInt(x1VertexSet.size());
-            int randomVertex = new ArrayList<>(x1VertexSet).get(randomIndex);
+    /**
+     * Chooses every live vertex of the main graph with probability 1/3.
+     *
+     * @return the vertices of X1, which are approximately 1/3 of the live vertices.
+     */
+    private int[] partitionVerticesIntoX1() {
+
+        LOGGER.trace("Partitioning the main vertex set into X1");
+
+        int[] x1 = SAMPLER.sampleBernoulli(mainGraph.vertexCount(), 1.0 / 3.0, randomOf(Stage.STEP_1));
 
-            x1VertexSet.remove(randomVertex);
-            kVertexSet.add(randomVertex);
+        if (mainGraph.liveVertexCount() == mainGraph.vertexCount()) {
+            return x1;
         }
 
-        return kVertexSet;
+        // the deleted vertices of a changed graph keep their ids, so they are drawn, but dropped
+        return Arrays.stream(x1).filter(mainGraph::isLive).toArray();
     }
 
 
     /**
-     * Chooses randomly vertices from {@code vertexSet} with the specified {@code probability}.
-     *
-     * @param vertexSet vertex set to be chosen from.
-     * @return set of vertices, namely X1, which is approximately 1/{@code probability} of the size of {@code vertexSet}.
+     * @param stage the stage, which draws the random numbers.
+     * @param indices e.g. the retry of the stage and the number of the pair.
+     * @return a new generator of the stream of {@code stage} and {@code indices} of this attempt.
      */
-    private Set<Integer> partitionVerticesIntoX1(Set<Integer> vertexSet) {
-
-        LOGGER.trace("Partitioning the main vertex set into X1");
-
-        return vertexSet.stream()
-            .filter(v -> RANDOM.nextDouble() <= 1.0 / 3.0)
-            .collect(Collectors.toSet());
+    private SplittableRandom randomOf(Stage stage, long... indices) {
+        return streams.child(stage.ordinal()).child(indices).random();
     }
 
 
     /**
      * Generates the shortest path between a<sub>i</sub><sup>*</sup> and b<sub>i</sub><sup>*</sup>, which are
-     * random neighbours of a<sub>i</sub><sup>^</sup> and b<sub>i</sub><sup>^</sup>, respectively.
+     * random {@code Z2}-neighbours of a<sub>i</sub><sup>^</sup> and b<sub>i</sub><sup>^</sup>, respectively.
      *
      * @param aiHat the end vertex of W<sub>i</sub><sup>(2)</sup>.
      * @param biHat the end vertex of W<sub>i</sub><sup>(4)</sup>.
-     * @param graphYiHat the graph, where the shortest path is generated.
+     * @param search the search workspace, which is shared by all shortest paths of W(3).
+     * @param random the random number generator of this pair.
      * @return the shortest path walk.
      */
-    private Walk<Integer> generateShortestPathWalk(int aiHat,
-                                                   int biHat,
-                                                   Graph<Integer, DefaultWeightedEdge> graphYiHat)
+    private Walk generateShortestPathWalk(int aiHat, int biHat, BidirectionalBfs search, SplittableRandom random)
         throws AlgorithmInterruptedException {
 
         LOGGER.debug("Generating the shortest path from a neighbour of {} to a neighbour of {}", aiHat, biHat);
 
-        List<Integer> neighboursOfAiHatInGraphYiHat = getFilteredNeighboursOfVertex(aiHat, graphYiHat.vertexSet());
-        int aiStar = neighboursOfAiHatInGraphYiHat.get(RANDOM.nextInt(neighboursOfAiHatInGraphYiHat.size()));
-
-        List<Integer> neighboursOfBiHatInGraphYiHat = getFilteredNeighboursOfVertex(biHat, graphYiHat.vertexSet());
-        int biStar = neighboursOfBiHatInGraphYiHat.get(RANDOM.nextInt(neighboursOfBiHatInGraphYiHat.size()));
+        int aiStar = getRandomNeighbourInSubgraph(aiHat, SubgraphLabels.Z2, random);
+        int biStar = getRandomNeighbourInSubgraph(biHat, SubgraphLabels.Z2, random);
 
-        Walk<Integer> walk = new ShortestPathWalk<>(graphYiHat, aiStar, biStar);
+        Walk walk = new ShortestPathWalk(search, labels, SubgraphLabels.Z2, aiStar, biStar);
         walk.generateWalk();
 
         return walk;
@@ -344,27 +744,21 @@ public class VertexDisjointPathsImpl implements VertexDisjointPaths {
 
 
     /**
-     * Generates a random walk in {@code graphJ}. The start vertex of this walk
+     * Generates a random walk in {@code Z1}. The start vertex of this walk
      * is a random {@code Z1}-neighbour of {@code wj}, which is a vertex
      * from {@code aTildeVertices} or {@code bTildeVertices}.
      *
-     * @param graphJ graph, where the random walk is generated.
      * @param wj vertex from {@code aTildeVertices} or {@code bTildeVertices}.
+     * @param random the random number generator of this pair.
      * @return the generated walk.
      */
-    private Walk<Integer> generateRandomWalk(
-        Graph<Integer, DefaultWeightedEdge> graphJ,
-        int wj
-    ) throws AlgorithmInterruptedException {
+    private Walk generateRandomWalk(int wj, SplittableRandom random) throws AlgorithmInterruptedException {
 
         LOGGER.debug("Generating a random walk with a neighbour of {} as a start vertex", wj);
 
-        List<Integer> neighboursInGraphJ = getFilteredNeighboursOfVertex(wj, graphJ.vertexSet());
+        int startVertex = getRandomNeighbourInSubgraph(wj, SubgraphLabels.Z1, random);
 
-        int startVertex =
-                neighboursInGraphJ.get(RANDOM.nextInt(neighboursInGraphJ.size()));
-
-        Walk<Integer> randomWalk = new RandomWalk<>(graphJ, startVertex, lengthRandomWalk);
+        Walk randomWalk = new RandomWalk(mainGraph, labels, SubgraphLabels.Z1, startVertex, lengthRandomWalk, random);
         randomWalk.generateWalk();
 
         return randomWalk;
@@ -372,25 +766,20 @@ public class VertexDisjointPathsImpl implements VertexDisjointPaths {
 
 
     /**
-     * Extracts network flow walks from the split graph X.
+     * Extracts network flow walks from the flow in the split graph X.
      *
-     * @param splitGraphX the graph, where the walks are generated.
+     * @param flow the split graph X with the maximum flow.
      * @return a list of walks
      */
-    private List<Walk<Integer>> extractWalks1(Graph<Integer, DefaultWeightedEdge> splitGraphX) {
+    private List<Walk> extractWalks1(SplitGraphView flow) {
 
         LOGGER.trace("Generating W(1)");
 
-        List<Walk<Integer>> walks1 = new LinkedList<>();
+        List<Walk> walks1 = new LinkedList<>();
 
         for (int startVertex : this.pairs.getStartVertices()) {
 
-            NetworkFlowWalk walk = new NetworkFlowWalk(
-                splitGraphX,
-                startVertex,
-                NETWORK_FLOW_SOURCE,
-                NETWORK_FLOW_SINK
-            );
+            NetworkFlowWalk walk = new NetworkFlowWalk(flow, startVertex);
 
             walk.generateWalk();
 
@@ -407,30 +796,29 @@ public class VertexDisjointPathsImpl implements VertexDisjointPaths {
 
 
     /**
-     * Extracts reversed random walks from graph J.
+     * Extracts random walks from the vertices labelled {@code Z1}.
      *
-     * @param graphJ the graph, where the walks are generated.
      * @return a list of walks.
      * @throws AlgorithmInterruptedException if a random walk cannot achieve the necessary length.
      */
-    private List<Walk<Integer>> extractWalks2(Graph<Integer, DefaultWeightedEdge> graphJ)
+    private List<Walk> extractWalks2()
         throws AlgorithmInterruptedException {
 
         LOGGER.trace("Generating W(2)");
-        List<Walk<Integer>> walks2 = new LinkedList<>();
+        List<Walk> walks2 = new LinkedList<>();
 
         for (int i = 0; i < numberPairs; i++) {
 
             int aiTilde = aTildeVertices.get(i);
 
-            Walk<Integer> randomWalk = generateRandomWalk(graphJ, aiTilde);
+            Walk randomWalk = generateRandomWalk(aiTilde, randomOf(Stage.WALKS_2, splitRound, i));
 
             walks2.add(randomWalk);
             aHatVertices.add(randomWalk.getEndVertex());
 
-            // we remove the generated random walk from the graph,
+            // we consume the vertices of the generated random walk,
             // in order to get disjoint paths
-            randomWalk.getPath().forEach(graphJ::removeVertex);
+            randomWalk.getPath().forEach(v -> labels.set(v, SubgraphLabels.CONSUMED));
         }
 
         return walks2;
@@ -440,28 +828,46 @@ public class VertexDisjointPathsImpl implements VertexDisjointPaths {
     /**
      * Extracts W(3) by creating the shortest paths between each pair
      * (a<sub>i</sub><sup>*</sup>, b<sub>i</sub><sup>*</sup>).
-     * a<sub>i</sub><sup>*</sup>, b<sub>i</sub><sup>*</sup> are random neighbours in the graph with {@code z2Vertices}
-     * of a<sub>i</sub><sup>~</sup> and b<sub>i</sub><sup>~</sup>, respectively.
+     * a<sub>i</sub><sup>*</sup>, b<sub>i</sub><sup>*</sup> are random {@code Z2}-neighbours
+     * of a<sub>i</sub><sup>^</sup> and b<sub>i</sub><sup>^</sup>, respectively.
      *
-     * @param graphHat the graph, where the shortest path is generated.
      * @return a list of shortest path walks.
      */
-    private List<Walk<Integer>> extractWalks3(Graph<Integer, DefaultWeightedEdge> graphHat)
+    private List<Walk> extractWalks3()
             throws AlgorithmInterruptedException {
 
         LOGGER.trace("Generating W(3)");
 
-        List<Walk<Integer>> walks3 = new LinkedList<>();
+        List<Walk> walks3 = new LinkedList<>();
+        BidirectionalBfs search = context.search();
 
         for (int i = 0; i < numberPairs; i++) {
 
             int aiHat = aHatVertices.get(i);
             int biHat = bHatVertices.get(i);
 
-            Walk<Integer> shortestPathWalk = generateShortestPathWalk(aiHat, biHat, graphHat);
+            Walk shortestPathWalk;
+
+            for (int retry = 0; ; retry++) {
+
+                try {
+                    shortestPathWalk = generateShortestPathWalk(aiHat, biHat, search,
+                        randomOf(Stage.WALKS_3, splitRound, i, retry));
+                    break;
+                } catch (AlgorithmInterruptedException e) {
+
+                    // other neighbours of a^ and b^ may lie in the same component of Z2
+                    if (retry == MAX_STAGE_RETRIES || e.getReason() != FailureReason.SHORTEST_PATH_UNREACHABLE) {
+                        throw e;
+                    }
+
+                    recordRetry(e.getReason());
+                }
+            }
+
             walks3.add(shortestPathWalk);
 
-            shortestPathWalk.getPath().forEach(graphHat::removeVertex);
+            shortestPathWalk.getPath().forEach(v -> labels.set(v, SubgraphLabels.CONSUMED));
         }
 
         return walks3;
@@ -469,55 +875,49 @@ public class VertexDisjointPathsImpl implements VertexDisjointPaths {
 
 
     /**
-     * Extracts reversed random walks from graph J.
+     * Extracts reversed random walks from the vertices labelled {@code Z1}.
      *
-     * @param graphJ the graph, where the walks are generated.
      * @return a list of walks.
      * @throws AlgorithmInterruptedException if a random walk cannot achieve the necessary length.
      */
-    private List<Walk<Integer>> extractWalks4(Graph<Integer, DefaultWeightedEdge> graphJ)
+    private List<Walk> extractWalks4()
             throws AlgorithmInterruptedException {
         LOGGER.trace("Generating W(4)");
 
-        List<Walk<Integer>> walks4 = new LinkedList<>();
+        List<Walk> walks4 = new LinkedList<>();
 
         for (int i = 0; i < numberPairs; i++) {
 
             int biTilde = bTildeVertices.get(i);
 
-            Walk<Integer> randomWalk = generateRandomWalk(graphJ, biTilde);
+            Walk randomWalk = generateRandomWalk(biTilde, randomOf(Stage.WALKS_4, splitRound, i));
 
             walks4.add(randomWalk.reversed());
             bHatVertices.add(randomWalk.getStartVertex());
 
-            // we remove the generated random walk from the graph,
+            // we consume the vertices of the generated random walk,
             // in order to get disjoint paths
-            randomWalk.getPath().forEach(graphJ::removeVertex);
+            randomWalk.getPath().forEach(v -> labels.set(v, SubgraphLabels.CONSUMED));
         }
 
         return walks4;
     }
 
     /**
-     * Extracts reversed network flow walks from the split graph X.
+     * Extracts reversed network flow walks from the flow in the split graph X.
      *
-     * @param splitGraphX the graph, where the walks are generated.
+     * @param flow the split graph X with the maximum flow.
      * @return a list of walks
      */
-    private List<Walk<Integer>> extractWalks5(Graph<Integer, DefaultWeightedEdge> splitGraphX) {
+    private List<Walk> extractWalks5(SplitGraphView flow) {
 
         LOGGER.trace("Generating W(5)");
 
-        List<Walk<Integer>> walks5 = new LinkedList<>();
+        List<Walk> walks5 = new LinkedList<>();
 
         for (int endVertex : this.pairs.getEndVertices()) {
 
-            NetworkFlowWalk walk = new NetworkFlowWalk(
-                splitGraphX,
-                endVertex,
-                NETWORK_FLOW_SOURCE,
-                NETWORK_FLOW_SINK
-            );
+            NetworkFlowWalk walk = new NetworkFlowWalk(flow, endVertex);
 
             walk.generateWalk();
             walks5.add(walk.reversed());
@@ -530,144 +930,70 @@ public class VertexDisjointPathsImpl implements VertexDisjointPaths {
 
 
     /**
-     * Performs the Edmonds-Karp Maximum Flow problem searching for
-     * vertex-disjoint paths between a source and a sink.
+     * Computes a maximum flow in the split graph X, searching for
+     * vertex-disjoint paths between the start and end vertices and the vertices in K.
+     *
+     * The split graph is not materialized, but viewed through the adjacency of the main graph.
      *
-     * @param splitGraphX a graph with split vertices, where the network flow algorithm is performed.
      * @param kVertices the end vertices of the paths
-     * @return a flow map of edge - double pairs, denoting the flow value of each edge in the graph.
+     * @return the split graph X with the flow, which the network flow walks follow.
      * @throws AlgorithmInterruptedException if the maximum flow value doesn't equal 2 * k.
      */
-    private Map<DefaultWeightedEdge, Double> createFlowMap(Graph<Integer, DefaultWeightedEdge> splitGraphX,
-                                                           List<Integer> kVertices)
+    private SplitGraphView createFlow(int[] kVertices)
             throws AlgorithmInterruptedException {
 
-        LOGGER.trace("Creating a flow map");
+        LOGGER.trace("Creating the flow network of the split graph X");
 
+        SplitGraphView flow = context.flow();
+        flow.reset(pairs.getAllVertices().stream().mapToInt(Integer::intValue).toArray(), kVertices);
 
-        addSourceAndSink(splitGraphX, kVertices);
-
-        EdmondsKarpMFImpl<Integer, DefaultWeightedEdge> ek = new EdmondsKarpMFImpl<>(splitGraphX);
-
-        LOGGER.trace("Performing Edmonds-Karp algorithm");
-        double maxFlow = ek.calculateMaximumFlow(NETWORK_FLOW_SOURCE, NETWORK_FLOW_SINK);
+        int maxFlow = context.maxFlow().calculateMaximumFlow(2 * numberPairs);
 
         if (maxFlow != 2 * numberPairs) {
 
             String message = "Maximum flow is not %d.".formatted(2 * numberPairs);
             LOGGER.error(message);
-            throw new AlgorithmInterruptedException(message);
-        }
-
-        return ek.getFlowMap();
-    }
-
-    /**
-     * Creates a new directed weighted graph clone with all vertices {@code V} from {@code graph} being split into
-     * {@code V}<sub>in</sub> and {@code V}<sub>out</sub>. {@code V}<sub>in</sub> accepts all incoming edges of {@code V}
-     * and {@code V}<sub>out</sub> accepts all outgoing edges of {@code V}.
-     *
-     * @param graph the graph to be cloned.
-     * @return the graph clone with the split vertices.
-     */
-    private Graph<Integer, DefaultWeightedEdge> createCloneGraphAndSplitVertices(Graph<Integer,
-            DefaultWeightedEdge> graph) {
-
-        LOGGER.trace("Creating a clone of graph X1 and splitting all vertices");
-
-        Graph<Integer, DefaultWeightedEdge> clonedGraph =
-            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
-
-        for (int vertex : graph.vertexSet()) {
-
-
-            clonedGraph.addVertex(vertex);
-            clonedGraph.addVertex(-vertex);
-
-            clonedGraph.addEdge(vertex, -vertex);
-            clonedGraph.setEdgeWeight(vertex, -vertex, 1.0);
+            throw new AlgorithmInterruptedException(FailureReason.MAXIMUM_FLOW_TOO_SMALL, message);
         }
 
-        for (int vertex : graph.vertexSet()) {
-
-            if (vertex < 0) {
-                continue;
-            }
-
-
-            Set<DefaultWeightedEdge> edgesOfVertex = graph.edgesOf(vertex);
-
-            for (DefaultWeightedEdge edge : edgesOfVertex) {
-
-                int neighbourOfVertex = Graphs.getOppositeVertex(graph, edge, vertex);
-
-                // add incoming edge to vertex_in
-                clonedGraph.addEdge(-neighbourOfVertex, vertex);
-                clonedGraph.setEdgeWeight(-neighbourOfVertex, vertex, 1.0);
-
-                // add outgoing edge from vertex_out
-                clonedGraph.addEdge(-vertex, neighbourOfVertex);
-                clonedGraph.setEdgeWeight(-vertex, neighbourOfVertex, 1.0);
-
-            }
-        }
-
-        return clonedGraph;
+        return flow;
     }
 
 
     /**
-     * Adds network flow source and sink vertices to a graph.
-     * The source vertex is connected with all {@code V}<sub>in</sub> of the start and end vertices.
-     * The sink vertex is connected with all {@code V}<sub>out</sub> of the k vertices.
+     * Returns a uniformly random neighbour of vertex {@code v}, which carries the given subgraph label.
      *
-     * @param graph a graph, which the source and sink addition is applied on.
-     * @param kVertices the vertices, which have to be connected with the sink.
+     * @param v a vertex
+     * @param subgraphLabel the label of the subgraph, e.g. {@link SubgraphLabels#Z1}
+     * @param random the random number generator.
+     * @return a random neighbour of {@code v} with label {@code subgraphLabel}
+     * @throws AlgorithmInterruptedException if {@code v} has no neighbours with label {@code subgraphLabel}
      */
-    private void addSourceAndSink(Graph<Integer, DefaultWeightedEdge> graph, List<Integer> kVertices) {
-
-        LOGGER.trace("Adding source and sink vertices into the flow network");
-
-        graph.addVertex(NETWORK_FLOW_SOURCE);
-        graph.addVertex(NETWORK_FLOW_SINK);
-
-        for (int i = 0; i < numberPairs; i++) {
+    private int getRandomNeighbourInSubgraph(int v, int subgraphLabel, SplittableRandom random)
+        throws AlgorithmInterruptedException {
 
-            graph.addEdge(NETWORK_FLOW_SOURCE, pairs.getStartVertices().get(i));
-            graph.addEdge(-(kVertices.get(i)), NETWORK_FLOW_SINK);
-        }
+        int neighbour = RandomWalk.randomNeighbour(mainGraph, labels, subgraphLabel, v, random);
 
-        for (int i = 0; i < numberPairs; i++) {
+        if (neighbour == -1) {
 
-            graph.addEdge(NETWORK_FLOW_SOURCE, pairs.getEndVertices().get(i));
-            graph.addEdge(-(kVertices.get(numberPairs + i)), NETWORK_FLOW_SINK);
+            boolean inZ1 = subgraphLabel == SubgraphLabels.Z1;
+            String subgraph = inZ1 ? "Z1" : "Z2";
+            LOGGER.error("{} has no neighbours in {}", v, subgraph);
+            throw new AlgorithmInterruptedException(
+                inZ1 ? FailureReason.NO_Z1_NEIGHBOUR : FailureReason.NO_Z2_NEIGHBOUR,
+                v + " has no neighbours in " + subgraph);
         }
 
+        return neighbour;
     }
 
 
     /**
-     * Returns all neighbours of vertex {@code v}, which are also in the {@code filterVertices}
-     * vertex set.
-     *
-     * @param v a vertex
-     * @param filterVertices vertex set, used for filtering out the neighbours of {@code v}
-     * @return a list of vertices, which are neighbours of {@code v} and are in {@code filterVertices}
-     * @throws AlgorithmInterruptedException if {@code v} has no neighbours, that are also in {@code filterVertices}
+     * A part of a stage, which may fail.
      */
-    private List<Integer> getFilteredNeighboursOfVertex(Integer v, Set<Integer> filterVertices) throws AlgorithmInterruptedException {
-
-        List<Integer> neighboursInFilterVertices = Graphs.neighborListOf(mainGraph, v)
-                .stream()
-                .filter(filterVertices::contains)
-                .toList();
-
-        if (neighboursInFilterVertices.isEmpty()) {
-
-            LOGGER.error("{} has no neighbours in Z1", v);
-            throw new AlgorithmInterruptedException(v + " has no neighbours in Z1");
-        }
+    @FunctionalInterface
+    private interface StagePart<T> {
 
-        return new ArrayList<>(neighboursInFilterVertices);
+        T run() throws AlgorithmInterruptedException;
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package enums;
+
+/**
+ * The reason, why a stage of an attempt failed. Stages, which can be resampled without
+ * restarting the attempt, are retried with this reason.
+ */
+public enum FailureReason {
+
+    K_BIGGER_THAN_X1,
+    MAXIMUM_FLOW_TOO_SMALL,
+    NO_Z1_NEIGHBOUR,
+    NO_Z2_NEIGHBOUR,
+    SHORTEST_PATH_UNREACHABLE,
+    CANCELLED,
+    // an endpoint of a new pair lies on a path, which the repair of a solution keeps
+    ENDPOINT_ON_KEPT_PATH
+}
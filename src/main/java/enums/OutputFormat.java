@@ -0,0 +1,27 @@
+package enums;
+
+import java.nio.file.Path;
+
+public enum OutputFormat {
+
+    /**
+     * Delta-varint encoded vertex ids, see {@link output.impl.BinaryPathSink}.
+     */
+    BINARY,
+
+    /**
+     * One JSON object per path and line, see {@link output.impl.NdjsonPathSink}.
+     */
+    NDJSON;
+
+
+    /**
+     * @return {@link #NDJSON} for a {@code .ndjson} or {@code .json} file, otherwise {@link #BINARY}.
+     */
+    public static OutputFormat of(Path file) {
+
+        String name = file.getFileName().toString().toLowerCase();
+
+        return name.endsWith(".ndjson") || name.endsWith(".json") ? NDJSON : BINARY;
+    }
+}
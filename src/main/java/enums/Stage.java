@@ -0,0 +1,30 @@
+package enums;
+
+/**
+ * The timed stages of an attempt: the six steps of the algorithm and the five walk families,
+ * which are extracted within Steps 3 - 5, and the repair of a solution for a changed pair set.
+ * New stages are appended, since the ordinals name the random streams of the stages.
+ */
+public enum Stage {
+
+    STEP_1,
+    STEP_2,
+    STEP_3,
+    STEP_4,
+    STEP_5,
+    STEP_6,
+    WALKS_1,
+    WALKS_2,
+    WALKS_3,
+    WALKS_4,
+    WALKS_5,
+    REPAIR;
+
+
+    /**
+     * @return true, if the stage is a step or the repair, which don't overlap and add up to the time of an attempt.
+     */
+    public boolean isStep() {
+        return ordinal() <= STEP_6.ordinal() || this == REPAIR;
+    }
+}
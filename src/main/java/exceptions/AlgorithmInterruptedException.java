@@ -1,12 +1,21 @@
 package exceptions;
 
+import enums.FailureReason;
+
 /**
  * This exception gets thrown, when the randomized algorithm gets into a
- * wrong state. After this, the algorithm must be re-executed.
+ * wrong state. After this, the failed stage or the whole algorithm must be re-executed.
  */
 public class AlgorithmInterruptedException extends Exception{
 
-    public AlgorithmInterruptedException(String msg) {
+    private final FailureReason reason;
+
+    public AlgorithmInterruptedException(FailureReason reason, String msg) {
         super(msg);
+        this.reason = reason;
+    }
+
+    public FailureReason getReason() {
+        return reason;
     }
 }
@@ -0,0 +1,107 @@
+package executor.impl;
+
+import algorithm.VertexDisjointPaths;
+import algorithm.impl.SolveContext;
+import algorithm.impl.VertexDisjointPathsImpl;
+import exceptions.ExecutionInterruptedException;
+import exceptions.GraphReadingException;
+import exceptions.InvalidAlgorithmResultException;
+import exceptions.MaximumNumberOfPairsExceededException;
+import executor.Executor;
+import graph.IntGraph;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pairloader.PairLoader;
+import sampling.RandomStreams;
+
+import java.util.Locale;
+
+/**
+ * Replays one attempt of a run of {@link VertexDisjointPathsExecutor}. The pairs and the random numbers
+ * of the attempt are derived from the seed of the run, the iteration and the number of the attempt,
+ * which the run logs, so the attempt does exactly the same work again.
+ * <p>
+ * The attempt can be repeated, e.g. to profile a slow attempt. The same context is reused for
+ * every repetition, as in the run.
+ */
+public class AttemptReplayExecutor implements Executor {
+
+    private static final Logger LOGGER = LogManager.getLogger(AttemptReplayExecutor.class);
+
+    private final String graphInputPath;
+    private final int numberEndpointPairs;
+    private final long seed;
+    private final int iteration;
+    private final int attempt;
+    private final int repetitions;
+
+
+    /**
+     * @param graphInputPath path to the graph file
+     * @param numberEndpointPairs number of random endpoints of the run
+     * @param seed the seed of the run
+     * @param iteration the iteration of the attempt, negative for a warmup iteration
+     * @param attempt the number of the attempt within its iteration
+     * @param repetitions how often the attempt is executed
+     */
+    public AttemptReplayExecutor(String graphInputPath,
+                                 int numberEndpointPairs,
+                                 long seed,
+                                 int iteration,
+                                 int attempt,
+                                 int repetitions) {
+
+        this.graphInputPath = graphInputPath;
+        this.numberEndpointPairs = numberEndpointPairs;
+        this.seed = seed;
+        this.iteration = iteration;
+        this.attempt = attempt;
+        this.repetitions = Math.max(1, repetitions);
+    }
+
+
+    @Override
+    public void executeProcedure() throws ExecutionInterruptedException {
+
+        IntGraph graph;
+
+        try {
+            graph = VertexDisjointPathsExecutor.graphLoader(graphInputPath).loadGraph();
+        } catch (GraphReadingException e) {
+            throw new ExecutionInterruptedException(e.getMessage());
+        }
+
+        RandomStreams streams = new RandomStreams(seed);
+        PairLoader<Integer> pairLoader = VertexDisjointPathsExecutor.pairLoader(graph, streams, numberEndpointPairs);
+
+        try {
+            pairLoader.generatePairs();
+        } catch (MaximumNumberOfPairsExceededException e) {
+            throw new ExecutionInterruptedException(e.getMessage());
+        }
+
+        SolveContext context = new SolveContext(graph);
+
+        for (int i = 0; i < repetitions; i++) {
+
+            VertexDisjointPaths vertexDisjointPaths = new VertexDisjointPathsImpl(pairLoader.getPairs(), context,
+                VertexDisjointPathsExecutor.attemptStreams(streams, iteration, attempt));
+
+            boolean success = vertexDisjointPaths.findDisjointPaths();
+
+            LOGGER.info("Seed {} iteration {} attempt {} took {} ms: {}",
+                seed, iteration, attempt,
+                String.format(Locale.ROOT, "%.3f", vertexDisjointPaths.getTimings().getTotalNanos() / 1e6),
+                vertexDisjointPaths.getTimings());
+
+            if (success) {
+
+                try {
+                    vertexDisjointPaths.verifyResult();
+                } catch (InvalidAlgorithmResultException e) {
+                    throw new ExecutionInterruptedException(e.getMessage());
+                }
+            }
+        }
+    }
+}
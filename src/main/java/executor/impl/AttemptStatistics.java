@@ -0,0 +1,91 @@
+package executor.impl;
+
+import algorithm.AttemptTimings;
+import algorithm.VertexDisjointPaths;
+import enums.FailureReason;
+import enums.Stage;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Counts the failed attempts and the stage retries of one execution by their reason, and sums up
+ * the time of all attempts by stage, so that the stage, which burns the most attempts and time, can be seen.
+ * The cost of every attempt is recorded in a histogram. Attempts, which run concurrently, may record
+ * into the same statistics.
+ */
+final class AttemptStatistics {
+
+    private final Map<FailureReason, Integer> failures = new EnumMap<>(FailureReason.class);
+    private final Map<FailureReason, Integer> retries = new EnumMap<>(FailureReason.class);
+    private final Map<FailureReason, Long> failureNanos = new EnumMap<>(FailureReason.class);
+    private final long[] stageNanos = new long[Stage.values().length];
+    private final Histogram attemptNanos = new Histogram(3);
+    private int attempts;
+
+    synchronized void record(VertexDisjointPaths attempt) {
+
+        AttemptTimings timings = attempt.getTimings();
+
+        attempts++;
+        attemptNanos.recordValue(timings.getTotalNanos());
+
+        attempt.getFailureReason().ifPresent(reason -> {
+            failures.merge(reason, 1, Integer::sum);
+            failureNanos.merge(reason, timings.getTotalNanos(), Long::sum);
+        });
+        attempt.getRetries().forEach((reason, count) -> retries.merge(reason, count, Integer::sum));
+
+        for (Stage stage : Stage.values()) {
+            stageNanos[stage.ordinal()] += timings.getNanos(stage);
+        }
+    }
+
+    synchronized int attempts() {
+        return attempts;
+    }
+
+    synchronized Map<FailureReason, Integer> failures() {
+        return new EnumMap<>(failures);
+    }
+
+    synchronized Map<FailureReason, Integer> retries() {
+        return new EnumMap<>(retries);
+    }
+
+    synchronized long stageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    /**
+     * @return a copy of the histogram of the attempt costs in nanoseconds.
+     */
+    synchronized Histogram attemptNanos() {
+        return attemptNanos.copy();
+    }
+
+    synchronized String stageTimes() {
+
+        StringJoiner res = new StringJoiner(", ");
+
+        for (Stage stage : Stage.values()) {
+
+            if (stageNanos[stage.ordinal()] > 0) {
+                res.add(String.format(Locale.ROOT, "%s=%.3f ms", stage, stageNanos[stage.ordinal()] / 1e6));
+            }
+        }
+
+        return res.toString();
+    }
+
+    synchronized String failureTimes() {
+
+        StringJoiner res = new StringJoiner(", ", "{", "}");
+        failureNanos.forEach((reason, nanos) -> res.add(String.format(Locale.ROOT, "%s=%.3f ms", reason, nanos / 1e6)));
+
+        return res.toString();
+    }
+}
@@ -0,0 +1,299 @@
+package executor.impl;
+
+import algorithm.VertexDisjointPaths;
+import algorithm.impl.SolveContext;
+import algorithm.impl.VertexDisjointPathsImpl;
+import exceptions.ExecutionInterruptedException;
+import exceptions.GraphReadingException;
+import exceptions.InvalidAlgorithmResultException;
+import exceptions.MaximumNumberOfPairsExceededException;
+import executor.Executor;
+import graph.IntGraph;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pairloader.PairLoader;
+import pairloader.impl.PairLoaderImpl;
+import pairloader.impl.PairSetReader;
+import sampling.RandomStreams;
+import util.IntList;
+import util.VertexPairs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Solves many pair sets on one loaded graph. The pair sets are read from a file, separated by blank lines,
+ * or sampled with {@link PairLoaderImpl}. They are solved on a work-stealing pool, whose threads share the
+ * read-only graph and keep one {@link SolveContext} each.
+ * <p>
+ * Every solved set is streamed to an NDJSON file, as soon as it is verified, in the order of completion:
+ * <pre>
+ * {"set":1,"pairs":2,"attempts":1,"millis":3.141,"paths":[[17,5,42],[8,3,11]]}
+ * </pre>
+ * A set, which is not solved within the maximum number of attempts, gets an {@code error} instead of paths.
+ * The log shows the throughput in solves per second and the percentiles of the solve times.
+ */
+public class BatchExecutor implements Executor {
+
+    private static final Logger LOGGER = LogManager.getLogger(BatchExecutor.class);
+    private static final int MAX_ATTEMPTS = 1000;
+    private static final String PATHS_DIRECTORY = "paths";
+
+    private final String graphInputPath;
+    private final String pairSetsPath;
+    private final int numberSets;
+    private final int numberPairs;
+    private final Path outputPath;
+    private final RandomStreams streams;
+
+
+    /**
+     * Initializes a batch of the pair sets in a file.
+     *
+     * @param graphInputPath path to the graph file
+     * @param pairSetsPath path to the file with the pair sets
+     * @param outputPath the file for the results, or null for {@code paths/<graph>-batch.ndjson}
+     * @param seed the seed of the attempts
+     */
+    public BatchExecutor(String graphInputPath, String pairSetsPath, String outputPath, long seed) {
+        this(graphInputPath, pairSetsPath, 0, 0, outputPath, seed);
+    }
+
+
+    /**
+     * Initializes a batch of {@code numberSets} sampled pair sets.
+     *
+     * @param graphInputPath path to the graph file
+     * @param numberSets number of pair sets
+     * @param numberPairs number of pairs in every set
+     * @param outputPath the file for the results, or null for {@code paths/<graph>-batch.ndjson}
+     * @param seed the seed of the pair sets and the attempts
+     */
+    public BatchExecutor(String graphInputPath, int numberSets, int numberPairs, String outputPath, long seed) {
+        this(graphInputPath, null, numberSets, numberPairs, outputPath, seed);
+    }
+
+
+    private BatchExecutor(String graphInputPath,
+                          String pairSetsPath,
+                          int numberSets,
+                          int numberPairs,
+                          String outputPath,
+                          long seed) {
+
+        this.graphInputPath = graphInputPath;
+        this.pairSetsPath = pairSetsPath;
+        this.numberSets = numberSets;
+        this.numberPairs = numberPairs;
+        this.streams = new RandomStreams(seed);
+        this.outputPath = outputPath != null
+            ? Path.of(outputPath)
+            : Path.of(PATHS_DIRECTORY, "%s-batch.ndjson".formatted(Path.of(graphInputPath).getFileName()));
+    }
+
+
+    @Override
+    public void executeProcedure() throws ExecutionInterruptedException {
+
+        IntGraph graph;
+        List<VertexPairs<Integer>> pairSets;
+
+        try {
+            graph = VertexDisjointPathsExecutor.graphLoader(graphInputPath).loadGraph();
+            pairSets = pairSetsPath != null ? readPairSets(graph) : samplePairSets(graph);
+
+        } catch (GraphReadingException | MaximumNumberOfPairsExceededException e) {
+            throw new ExecutionInterruptedException(e.getMessage());
+        }
+
+        LOGGER.info("Seed {}", streams.seed());
+        LOGGER.info("Solving {} pair sets", pairSets.size());
+
+        ThreadLocal<SolveContext> contexts = ThreadLocal.withInitial(() -> new SolveContext(graph));
+        Histogram solveNanos = new ConcurrentHistogram(3);
+        AtomicLong attempts = new AtomicLong();
+        AtomicInteger solved = new AtomicInteger();
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+
+        try (Writer writer = openOutput()) {
+
+            List<Callable<Void>> tasks = new ArrayList<>(pairSets.size());
+
+            for (int i = 0; i < pairSets.size(); i++) {
+
+                int set = i + 1;
+                VertexPairs<Integer> pairs = pairSets.get(i);
+
+                tasks.add(() -> {
+
+                    long solveStart = System.nanoTime();
+                    SolveResult result = solve(pairs, contexts.get(), set);
+                    long nanos = System.nanoTime() - solveStart;
+
+                    solveNanos.recordValue(nanos);
+                    attempts.addAndGet(result.attempts);
+
+                    if (result.vertexDisjointPaths != null) {
+                        solved.incrementAndGet();
+                    }
+
+                    String line = toJson(graph, set, pairs, result, nanos);
+
+                    synchronized (writer) {
+                        writer.write(line);
+                    }
+
+                    return null;
+                });
+            }
+
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+
+        } catch (IOException | ExecutionException e) {
+
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            LOGGER.error("Batch interrupted: {}", cause.getMessage());
+            throw new ExecutionInterruptedException(cause.getMessage());
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new ExecutionInterruptedException("Batch interrupted");
+
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LOGGER.info("Solved {} of {} pair sets with {} attempts in {} s on {} threads: {} solves/s",
+            solved.get(), pairSets.size(), attempts.get(),
+            String.format(Locale.ROOT, "%.3f", seconds),
+            pool.getParallelism(),
+            String.format(Locale.ROOT, "%.1f", pairSets.size() / seconds));
+        LOGGER.info("Solve time: min {} ms, p50 {} ms, p90 {} ms, p99 {} ms, max {} ms",
+            String.format(Locale.ROOT, "%.3f", solveNanos.getMinValue() / 1e6),
+            String.format(Locale.ROOT, "%.3f", solveNanos.getValueAtPercentile(50) / 1e6),
+            String.format(Locale.ROOT, "%.3f", solveNanos.getValueAtPercentile(90) / 1e6),
+            String.format(Locale.ROOT, "%.3f", solveNanos.getValueAtPercentile(99) / 1e6),
+            String.format(Locale.ROOT, "%.3f", solveNanos.getMaxValue() / 1e6));
+        LOGGER.info("Results written to {}", outputPath);
+    }
+
+
+    /**
+     * Repeats attempts on one pair set, until one succeeds or {@link #MAX_ATTEMPTS} are used.
+     * The paths of a successful attempt are verified.
+     */
+    private SolveResult solve(VertexPairs<Integer> pairs, SolveContext context, int set)
+        throws InvalidAlgorithmResultException {
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+
+            VertexDisjointPaths vertexDisjointPaths =
+                new VertexDisjointPathsImpl(pairs, context, streams.child(set, attempt));
+
+            if (vertexDisjointPaths.findDisjointPaths()) {
+
+                vertexDisjointPaths.verifyResult();
+                return new SolveResult(vertexDisjointPaths, attempt);
+            }
+        }
+
+        return new SolveResult(null, MAX_ATTEMPTS);
+    }
+
+
+    private List<VertexPairs<Integer>> readPairSets(IntGraph graph) throws ExecutionInterruptedException {
+
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(pairSetsPath), StandardCharsets.UTF_8)) {
+            return new PairSetReader(graph).readSets(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ExecutionInterruptedException("Cannot read the pair sets: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Samples the pair sets. The pairs of set i are drawn from the stream {@code (0, i)} of the seed,
+     * the attempts on set i from {@code (i, attempt)}.
+     */
+    private List<VertexPairs<Integer>> samplePairSets(IntGraph graph) throws MaximumNumberOfPairsExceededException {
+
+        List<VertexPairs<Integer>> pairSets = new ArrayList<>(numberSets);
+
+        for (int i = 1; i <= numberSets; i++) {
+
+            PairLoader<Integer> pairLoader =
+                new PairLoaderImpl(graph, VertexDisjointPathsExecutor.ALPHA, numberPairs, streams.child(0, i).random());
+            pairLoader.generatePairs();
+            pairSets.add(pairLoader.getPairs());
+        }
+
+        return pairSets;
+    }
+
+
+    private Writer openOutput() throws IOException {
+
+        if (outputPath.getParent() != null) {
+            Files.createDirectories(outputPath.getParent());
+        }
+
+        return Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8);
+    }
+
+
+    private static String toJson(IntGraph graph, int set, VertexPairs<Integer> pairs, SolveResult result, long nanos) {
+
+        StringBuilder line = new StringBuilder("{\"set\":").append(set)
+            .append(",\"pairs\":").append(pairs.getSize())
+            .append(",\"attempts\":").append(result.attempts)
+            .append(",\"millis\":").append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+
+        if (result.vertexDisjointPaths == null) {
+            return line.append(",\"error\":\"No disjoint paths found in ").append(MAX_ATTEMPTS).append(" attempts\"}\n")
+                .toString();
+        }
+
+        line.append(",\"paths\":[");
+        List<IntList> paths = result.vertexDisjointPaths.getPaths();
+
+        for (int i = 0; i < paths.size(); i++) {
+
+            line.append(i > 0 ? ",[" : "[");
+            IntList path = paths.get(i);
+
+            for (int j = 0; j < path.size(); j++) {
+                line.append(j > 0 ? "," : "").append(graph.labelOf(path.get(j)));
+            }
+
+            line.append(']');
+        }
+
+        return line.append("]}\n").toString();
+    }
+
+
+    private record SolveResult(VertexDisjointPaths vertexDisjointPaths, int attempts) {
+    }
+}
@@ -0,0 +1,261 @@
+package executor.impl;
+
+import enums.Stage;
+import graph.IntGraph;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records the benchmark iterations of an execution. For every iteration it measures the wall time of the solve
+ * with {@link System#nanoTime()}, the number of attempts, the garbage collections and their pause time and the
+ * allocated bytes, the last three from the platform MXBeans. The number of attempts is kept apart from the cost
+ * of an attempt, since the first is a property of the randomized algorithm and the second of the implementation.
+ * <p>
+ * The summary with min/p50/p90/p99/max from histograms is logged, and written as JSON together with a CSV file,
+ * which has one row per iteration.
+ */
+final class BenchmarkRecorder {
+
+    private static final Logger LOGGER = LogManager.getLogger(BenchmarkRecorder.class);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final String graphName;
+    private final int numberVertices;
+    private final int numberEdges;
+    private final int numberPairs;
+    private final int parallelAttempts;
+
+    private final Histogram solveNanos = new Histogram(3);
+    private final Histogram attemptNanos = new Histogram(3);
+    private final Histogram attemptsPerSolve = new Histogram(3);
+    private final long[] stageNanos = new long[Stage.values().length];
+    private final List<Iteration> iterations = new ArrayList<>();
+
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    private long iterationStart;
+    private long gcCountStart;
+    private long gcMillisStart;
+    private long allocatedBytesStart;
+
+
+    BenchmarkRecorder(String graphName, IntGraph graph, int numberPairs, int parallelAttempts) {
+
+        this.graphName = graphName;
+        this.numberVertices = graph.vertexCount();
+        this.numberEdges = graph.edgeCount();
+        this.numberPairs = numberPairs;
+        this.parallelAttempts = parallelAttempts;
+
+        this.threadBean = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+            && bean.isThreadAllocatedMemorySupported() ? bean : null;
+    }
+
+
+    void startIteration() {
+
+        gcCountStart = gcCount();
+        gcMillisStart = gcMillis();
+        allocatedBytesStart = allocatedBytes();
+        iterationStart = System.nanoTime();
+    }
+
+    void endIteration(AttemptStatistics statistics) {
+
+        long nanos = System.nanoTime() - iterationStart;
+
+        Iteration iteration = new Iteration(
+            nanos,
+            statistics.attempts(),
+            gcCount() - gcCountStart,
+            gcMillis() - gcMillisStart,
+            allocatedBytes() - allocatedBytesStart
+        );
+
+        iterations.add(iteration);
+        solveNanos.recordValue(nanos);
+        attemptsPerSolve.recordValue(iteration.attempts);
+        attemptNanos.add(statistics.attemptNanos());
+
+        for (Stage stage : Stage.values()) {
+            stageNanos[stage.ordinal()] += statistics.stageNanos(stage);
+        }
+
+        LOGGER.info("Algorithm duration: {} ms with {} attempts",
+            String.format(Locale.ROOT, "%.3f", nanos / 1e6), iteration.attempts);
+    }
+
+
+    void logSummary() {
+
+        LOGGER.info("Algorithm executed {} time{}", iterations.size(), (iterations.size() > 1 ? "s" : ""));
+        LOGGER.info("Solve time: {}", percentiles(solveNanos));
+        LOGGER.info("Attempt time: {}", percentiles(attemptNanos));
+        LOGGER.info("Attempts per solve: mean {}, max {}",
+            String.format(Locale.ROOT, "%.2f", attemptsPerSolve.getMean()), attemptsPerSolve.getMaxValue());
+        LOGGER.info("GC: {} collections, {} ms pause time, {} MB allocated per iteration",
+            iterations.stream().mapToLong(Iteration::gcCount).sum(),
+            iterations.stream().mapToLong(Iteration::gcMillis).sum(),
+            String.format(Locale.ROOT, "%.2f", allocatedBytesPerIteration() / (1024.0 * 1024.0)));
+    }
+
+
+    /**
+     * Writes {@code <graph>-k<k>-<timestamp>.json} with the summary and {@code .csv} with the iterations
+     * into {@code directory}.
+     *
+     * @return the path of the JSON file.
+     */
+    Path write(Path directory) throws IOException {
+
+        Files.createDirectories(directory);
+
+        String baseName = String.format(Locale.ROOT, "%s-k%d-%s",
+            graphName, numberPairs, LocalDateTime.now().format(TIMESTAMP));
+        Path json = directory.resolve(baseName + ".json");
+        Path csv = directory.resolve(baseName + ".csv");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+
+            writer.write("iteration,solve_nanos,attempts,gc_count,gc_millis,allocated_bytes\n");
+
+            for (int i = 0; i < iterations.size(); i++) {
+
+                Iteration iteration = iterations.get(i);
+                writer.write(String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d%n", i + 1,
+                    iteration.nanos, iteration.attempts, iteration.gcCount, iteration.gcMillis, iteration.allocatedBytes));
+            }
+        }
+
+        return json;
+    }
+
+
+    private String toJson() {
+
+        StringBuilder stages = new StringBuilder();
+
+        for (Stage stage : Stage.values()) {
+
+            if (!stages.isEmpty()) {
+                stages.append(", ");
+            }
+
+            stages.append(String.format(Locale.ROOT, "\"%s\": %d", stage, stageNanos[stage.ordinal()]));
+        }
+
+        return String.format(Locale.ROOT, """
+            {
+              "graph": "%s",
+              "vertices": %d,
+              "edges": %d,
+              "pairs": %d,
+              "parallelAttempts": %d,
+              "iterations": %d,
+              "solveNanos": %s,
+              "attemptNanos": %s,
+              "attemptsPerSolve": {"mean": %.3f, "max": %d, "total": %d},
+              "stageNanos": {%s},
+              "gc": {"count": %d, "pauseMillis": %d},
+              "allocatedBytesPerIteration": %d
+            }
+            """,
+            graphName.replace("\"", ""),
+            numberVertices,
+            numberEdges,
+            numberPairs,
+            parallelAttempts,
+            iterations.size(),
+            percentilesJson(solveNanos),
+            percentilesJson(attemptNanos),
+            attemptsPerSolve.getMean(),
+            attemptsPerSolve.getMaxValue(),
+            iterations.stream().mapToLong(Iteration::attempts).sum(),
+            stages,
+            iterations.stream().mapToLong(Iteration::gcCount).sum(),
+            iterations.stream().mapToLong(Iteration::gcMillis).sum(),
+            allocatedBytesPerIteration()
+        );
+    }
+
+
+    private long allocatedBytesPerIteration() {
+        return iterations.isEmpty() ? 0 : iterations.stream().mapToLong(Iteration::allocatedBytes).sum() / iterations.size();
+    }
+
+    private static String percentiles(Histogram histogram) {
+
+        return String.format(Locale.ROOT, "min %.3f ms, p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms",
+            histogram.getMinValue() / 1e6,
+            histogram.getValueAtPercentile(50) / 1e6,
+            histogram.getValueAtPercentile(90) / 1e6,
+            histogram.getValueAtPercentile(99) / 1e6,
+            histogram.getMaxValue() / 1e6);
+    }
+
+    private static String percentilesJson(Histogram histogram) {
+
+        return String.format(Locale.ROOT,
+            "{\"min\": %d, \"p50\": %d, \"p90\": %d, \"p99\": %d, \"max\": %d, \"mean\": %.1f, \"count\": %d}",
+            histogram.getMinValue(),
+            histogram.getValueAtPercentile(50),
+            histogram.getValueAtPercentile(90),
+            histogram.getValueAtPercentile(99),
+            histogram.getMaxValue(),
+            histogram.getMean(),
+            histogram.getTotalCount());
+    }
+
+
+    private static long gcCount() {
+
+        long count = 0;
+
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+
+        return count;
+    }
+
+    private static long gcMillis() {
+
+        long millis = 0;
+
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, bean.getCollectionTime());
+        }
+
+        return millis;
+    }
+
+    /**
+     * @return the bytes allocated by all threads, including the threads of the attempt pool, or 0 if
+     * the JVM doesn't count them.
+     */
+    private long allocatedBytes() {
+        return threadBean == null ? 0 : threadBean.getTotalThreadAllocatedBytes();
+    }
+
+
+    private record Iteration(long nanos, long attempts, long gcCount, long gcMillis, long allocatedBytes) {
+    }
+}
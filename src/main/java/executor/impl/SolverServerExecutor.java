@@ -0,0 +1,419 @@
+package executor.impl;
+
+import algorithm.VertexDisjointPaths;
+import algorithm.impl.SolveContext;
+import algorithm.impl.VertexDisjointPathsImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import exceptions.ExecutionInterruptedException;
+import exceptions.GraphReadingException;
+import exceptions.InvalidAlgorithmResultException;
+import exceptions.MaximumNumberOfPairsExceededException;
+import executor.Executor;
+import graph.IntGraph;
+import graph.impl.DynamicGraph;
+import graph.impl.GraphDelta;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pairloader.impl.PairLoaderImpl;
+import pairloader.impl.PairSetReader;
+import util.IntList;
+import util.VertexPairs;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A resident solver, which loads its graphs once and answers pair-set queries over loopback HTTP,
+ * so a query pays neither the JVM startup nor the loading of the graph.
+ * <p>
+ * The server listens on {@code 127.0.0.1} and offers two endpoints:
+ * <ul>
+ *     <li>{@code GET /graphs} lists the loaded graphs.</li>
+ *     <li>{@code POST /solve?graph=<name>&k=<k>} samples k pairs with {@link PairLoaderImpl}.
+ *     {@code POST /solve?graph=<name>} without {@code k} reads the pairs from the body, one pair
+ *     {@code <start> <end>} of vertex ids of the graph file per line.</li>
+ *     <li>{@code POST /update?graph=<name>} applies the edge and vertex changes in the body, in the format of
+ *     {@link GraphDelta}, to the graph.</li>
+ * </ul>
+ * A graph is named by its file name. The paths are verified with {@link VertexDisjointPaths#verifyResult()}
+ * and streamed back as one JSON object per line, followed by a summary line.
+ * <p>
+ * Every request thread keeps one {@link SolveContext} per graph, which it reuses for all of its attempts.
+ * A solve runs on the version of the graph, which is current when it starts, so an update never changes
+ * the graph under a running solve. A context of an older version is replaced by the next solve of its thread.
+ */
+public class SolverServerExecutor implements Executor {
+
+    private static final Logger LOGGER = LogManager.getLogger(SolverServerExecutor.class);
+    private static final int MAX_ATTEMPTS = 1000;
+    private static final double ALPHA = 1.0 / 10.0;
+
+    private final int port;
+    private final List<String> graphInputPaths;
+    private final Map<String, LoadedGraph> graphs = new LinkedHashMap<>();
+
+
+    /**
+     * @param port the loopback port to listen on.
+     * @param graphInputPaths paths to the graph files, which are served.
+     */
+    public SolverServerExecutor(int port, List<String> graphInputPaths) {
+
+        this.port = port;
+        this.graphInputPaths = graphInputPaths;
+    }
+
+
+    @Override
+    public void executeProcedure() throws ExecutionInterruptedException {
+
+        for (String graphInputPath : graphInputPaths) {
+
+            try {
+                IntGraph graph = VertexDisjointPathsExecutor.graphLoader(graphInputPath).loadGraph();
+
+                String name = Path.of(graphInputPath).getFileName().toString();
+                graphs.put(name, new LoadedGraph(graph));
+
+                LOGGER.info("Serving {} with {} vertices and {} edges", name, graph.vertexCount(), graph.edgeCount());
+
+            } catch (GraphReadingException e) {
+                throw new ExecutionInterruptedException(e.getMessage());
+            }
+        }
+
+        HttpServer server;
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new ExecutionInterruptedException("Cannot listen on port %d: %s".formatted(port, e.getMessage()));
+        }
+
+        ExecutorService requestPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        CountDownLatch stopped = new CountDownLatch(1);
+
+        server.setExecutor(requestPool);
+        server.createContext("/graphs", this::handleGraphs);
+        server.createContext("/solve", this::handleSolve);
+        server.createContext("/update", this::handleUpdate);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+
+            LOGGER.info("Stopping the server");
+            server.stop(1);
+            requestPool.shutdown();
+            stopped.countDown();
+        }));
+
+        server.start();
+        LOGGER.info("Listening on http://{}:{}", server.getAddress().getHostString(), server.getAddress().getPort());
+
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private void handleGraphs(HttpExchange exchange) throws IOException {
+
+        try (exchange) {
+
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+
+            StringBuilder response = new StringBuilder();
+
+            graphs.forEach((name, loadedGraph) -> {
+
+                IntGraph graph = loadedGraph.dynamicGraph.current();
+                response.append(String.format(Locale.ROOT, "{\"graph\":%s,\"vertices\":%d,\"edges\":%d}%n",
+                    jsonString(name), graph.liveVertexCount(), graph.edgeCount()));
+            });
+
+            byte[] body = response.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+
+        try (exchange) {
+
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use POST");
+                return;
+            }
+
+            Map<String, String> parameters = parseQuery(exchange.getRequestURI());
+            LoadedGraph loadedGraph = graphs.get(parameters.get("graph"));
+
+            if (loadedGraph == null) {
+                sendError(exchange, 404, "Unknown graph " + parameters.get("graph"));
+                return;
+            }
+
+            IntGraph graph = loadedGraph.dynamicGraph.current();
+            VertexPairs<Integer> pairs;
+
+            try {
+                pairs = parameters.containsKey("k")
+                    ? samplePairs(graph, Integer.parseInt(parameters.get("k")))
+                    : new PairSetReader(graph).readSet(new BufferedReader(
+                        new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)));
+
+            } catch (IllegalArgumentException | MaximumNumberOfPairsExceededException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            long start = System.nanoTime();
+            SolveContext context = loadedGraph.context(graph);
+            VertexDisjointPaths vertexDisjointPaths = null;
+            int attempts = 0;
+
+            while (attempts < MAX_ATTEMPTS && vertexDisjointPaths == null) {
+
+                attempts++;
+                VertexDisjointPaths attempt = new VertexDisjointPathsImpl(pairs, context);
+
+                if (attempt.findDisjointPaths()) {
+                    vertexDisjointPaths = attempt;
+                }
+            }
+
+            if (vertexDisjointPaths == null) {
+                sendError(exchange, 503, "No disjoint paths found in %d attempts".formatted(MAX_ATTEMPTS));
+                return;
+            }
+
+            try {
+                vertexDisjointPaths.verifyResult();
+            } catch (InvalidAlgorithmResultException e) {
+
+                LOGGER.error(e.getMessage());
+                sendError(exchange, 500, e.getMessage());
+                return;
+            }
+
+            streamPaths(exchange, graph, pairs, vertexDisjointPaths, attempts, System.nanoTime() - start);
+        }
+    }
+
+
+    private void handleUpdate(HttpExchange exchange) throws IOException {
+
+        try (exchange) {
+
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use POST");
+                return;
+            }
+
+            Map<String, String> parameters = parseQuery(exchange.getRequestURI());
+            LoadedGraph loadedGraph = graphs.get(parameters.get("graph"));
+
+            if (loadedGraph == null) {
+                sendError(exchange, 404, "Unknown graph " + parameters.get("graph"));
+                return;
+            }
+
+            GraphDelta delta;
+
+            try {
+                delta = GraphDelta.read(new BufferedReader(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)));
+
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            long start = System.nanoTime();
+            DynamicGraph.Update update = loadedGraph.dynamicGraph.apply(delta);
+
+            LOGGER.info("Updated {} with {} changes, {} ignored", parameters.get("graph"), update.applied(), update.ignored());
+
+            byte[] body = String.format(Locale.ROOT,
+                    "{\"vertices\":%d,\"edges\":%d,\"applied\":%d,\"ignored\":%d,\"compacted\":%b,\"millis\":%.3f}%n",
+                    update.graph().liveVertexCount(), update.graph().edgeCount(), update.applied(), update.ignored(),
+                    update.compacted(), (System.nanoTime() - start) / 1e6)
+                .getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+
+    private void streamPaths(HttpExchange exchange,
+                             IntGraph graph,
+                             VertexPairs<Integer> pairs,
+                             VertexDisjointPaths vertexDisjointPaths,
+                             int attempts,
+                             long nanos) throws IOException {
+
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        List<IntList> paths = vertexDisjointPaths.getPaths();
+
+        for (int i = 0; i < paths.size(); i++) {
+
+            IntList path = paths.get(i);
+
+            writer.write(String.format(Locale.ROOT, "{\"pair\":%d,\"start\":%d,\"end\":%d,\"path\":[",
+                    i + 1,
+                    graph.labelOf(pairs.getStartVertices().get(i)),
+                    graph.labelOf(pairs.getEndVertices().get(i))));
+
+            for (int j = 0; j < path.size(); j++) {
+
+                if (j > 0) {
+                    writer.write(',');
+                }
+
+                writer.write(Integer.toString(graph.labelOf(path.get(j))));
+            }
+
+            writer.write("]}\n");
+            writer.flush();
+        }
+
+        writer.write(String.format(Locale.ROOT, "{\"pairs\":%d,\"attempts\":%d,\"millis\":%.3f}%n",
+            paths.size(), attempts, nanos / 1e6));
+        writer.flush();
+    }
+
+
+    private VertexPairs<Integer> samplePairs(IntGraph graph, int numberPairs)
+        throws MaximumNumberOfPairsExceededException {
+
+        if (numberPairs < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+
+        PairLoaderImpl pairLoader = new PairLoaderImpl(graph, ALPHA, numberPairs);
+        pairLoader.generatePairs();
+
+        return pairLoader.getPairs();
+    }
+
+
+    private static Map<String, String> parseQuery(URI uri) {
+
+        Map<String, String> parameters = new HashMap<>();
+        String query = uri.getQuery();
+
+        if (query == null) {
+            return parameters;
+        }
+
+        for (String parameter : query.split("&")) {
+
+            int separator = parameter.indexOf('=');
+
+            if (separator > 0) {
+                parameters.put(parameter.substring(0, separator), parameter.substring(separator + 1));
+            }
+        }
+
+        return parameters;
+    }
+
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+
+        String error = message != null ? message : "Unknown error";
+        byte[] body = String.format(Locale.ROOT, "{\"error\":%s}%n", jsonString(error)).getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+
+    /**
+     * @return {@code text} as a JSON string literal, with the quotes, backslashes and control characters escaped.
+     */
+    private static String jsonString(String text) {
+
+        StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+
+        for (int i = 0; i < text.length(); i++) {
+
+            char c = text.charAt(i);
+
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+
+        return json.append('"').toString();
+    }
+
+
+    private static final class LoadedGraph {
+
+        private final DynamicGraph dynamicGraph;
+        private final ThreadLocal<SolveContext> contexts = new ThreadLocal<>();
+
+        private LoadedGraph(IntGraph graph) {
+            this.dynamicGraph = new DynamicGraph(graph);
+        }
+
+        /**
+         * @return the context of the calling thread for {@code graph}, which replaces a context of an older version.
+         */
+        private SolveContext context(IntGraph graph) {
+
+            SolveContext context = contexts.get();
+
+            if (context == null || context.graph() != graph) {
+
+                context = new SolveContext(graph);
+                contexts.set(context);
+            }
+
+            return context;
+        }
+    }
+}
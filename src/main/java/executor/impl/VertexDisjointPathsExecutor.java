@@ -1,30 +1,64 @@
 package executor.impl;
 
 import algorithm.VertexDisjointPaths;
+import algorithm.impl.SolveContext;
 import algorithm.impl.VertexDisjointPathsImpl;
 import enums.ExecutionMode;
+import enums.OutputFormat;
 import exceptions.GraphReadingException;
 import exceptions.InvalidAlgorithmResultException;
 import exceptions.MaximumNumberOfPairsExceededException;
 import exceptions.ExecutionInterruptedException;
 import executor.Executor;
+import graph.IntGraph;
 import graphloader.GraphLoader;
-import graphloader.impl.SimpleUndirectedGraphLoader;
+import graphloader.impl.MappedDimacsGraphLoader;
+import graphloader.impl.RandomGraphGenerator;
+import graphloader.impl.SnapshotGraphLoader;
+import org.HdrHistogram.Histogram;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jgrapht.Graph;
-import org.jgrapht.graph.DefaultWeightedEdge;
+import output.PathSink;
+import output.impl.BinaryPathSink;
+import output.impl.NdjsonPathSink;
 import pairloader.PairLoader;
 import pairloader.impl.PairLoaderImpl;
-
+import sampling.RandomStreams;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class VertexDisjointPathsExecutor implements Executor {
 
     private static final Logger LOGGER = LogManager.getLogger(VertexDisjointPathsExecutor.class);
+    private static final String BENCHMARK_RESULTS_DIRECTORY = "benchmark-results";
+    private static final String PATHS_DIRECTORY = "paths";
+    static final double ALPHA = 1.0 / 10.0;
+    private static final long PAIR_STREAM = 0;
+    private static final long SOLVE_STREAM = 1;
+    private static final int WARMUP_ITERATIONS = 5;
+
     private final String graphInputPath;
     private final int numberEndpointPairs;
     private final int iterations;
+    private final int parallelAttempts;
+    private final Path outputPath;
+    private final RandomStreams streams;
 
     private final ExecutionMode mode;
 
@@ -37,31 +71,95 @@ public class VertexDisjointPathsExecutor implements Executor {
      * @param numberEndpointPairs number of random endpoints
      */
     public VertexDisjointPathsExecutor(String graphInputPath, int numberEndpointPairs, ExecutionMode mode, int iterations) {
+        this(graphInputPath, numberEndpointPairs, mode, iterations, 1);
+    }
+
+
+    /**
+     * Initializes a vertex-disjoint-path executor by a given graph file
+     * and k random endpoint vertices, which races {@code parallelAttempts} attempts against each other.
+     *
+     * @param graphInputPath path to the graph file
+     * @param numberEndpointPairs number of random endpoints
+     * @param parallelAttempts number of attempts, which run at the same time. 1 runs the attempts sequentially.
+     */
+    public VertexDisjointPathsExecutor(String graphInputPath,
+                                       int numberEndpointPairs,
+                                       ExecutionMode mode,
+                                       int iterations,
+                                       int parallelAttempts) {
+        this(graphInputPath, numberEndpointPairs, mode, iterations, parallelAttempts, null);
+    }
+
+
+    /**
+     * Initializes a vertex-disjoint-path executor, which writes the paths of the last iteration to
+     * {@code outputPath}. The format is chosen by {@link OutputFormat#of(Path)}.
+     *
+     * @param graphInputPath path to the graph file
+     * @param numberEndpointPairs number of random endpoints
+     * @param parallelAttempts number of attempts, which run at the same time. 1 runs the attempts sequentially.
+     * @param outputPath the file for the paths, or null for {@code paths/<graph>-k<k>.ndjson}.
+     */
+    public VertexDisjointPathsExecutor(String graphInputPath,
+                                       int numberEndpointPairs,
+                                       ExecutionMode mode,
+                                       int iterations,
+                                       int parallelAttempts,
+                                       String outputPath) {
+        this(graphInputPath, numberEndpointPairs, mode, iterations, parallelAttempts, outputPath,
+            RandomStreams.unseeded().seed());
+    }
+
+
+    /**
+     * Initializes a vertex-disjoint-path executor, whose pairs and attempts are derived from {@code seed}.
+     * Every attempt can be replayed by {@link AttemptReplayExecutor} with the seed, the iteration and the
+     * number of the attempt, which are logged.
+     *
+     * @param graphInputPath path to the graph file
+     * @param numberEndpointPairs number of random endpoints
+     * @param parallelAttempts number of attempts, which run at the same time. 1 runs the attempts sequentially.
+     * @param outputPath the file for the paths, or null for {@code paths/<graph>-k<k>.ndjson}.
+     * @param seed the seed of the run.
+     */
+    public VertexDisjointPathsExecutor(String graphInputPath,
+                                       int numberEndpointPairs,
+                                       ExecutionMode mode,
+                                       int iterations,
+                                       int parallelAttempts,
+                                       String outputPath,
+                                       long seed) {
 
         this.mode = mode;
         this.iterations = iterations;
         this.graphInputPath = graphInputPath;
         this.numberEndpointPairs = numberEndpointPairs;
+        this.parallelAttempts = Math.max(1, parallelAttempts);
+        this.streams = new RandomStreams(seed);
+        this.outputPath = outputPath != null
+            ? Path.of(outputPath)
+            : Path.of(PATHS_DIRECTORY,
+                String.format(Locale.ROOT, "%s-k%d.ndjson", Path.of(graphInputPath).getFileName(), numberEndpointPairs));
     }
 
 
     @Override
     public void executeProcedure() throws ExecutionInterruptedException {
 
-        GraphLoader<Integer, DefaultWeightedEdge> weightedGraphLoader =
-            new SimpleUndirectedGraphLoader(graphInputPath);
+        GraphLoader graphLoader = graphLoader(graphInputPath);
 
-        Graph<Integer, DefaultWeightedEdge> graph;
+        IntGraph graph;
 
         try {
-            graph = weightedGraphLoader.loadGraph();
+            graph = graphLoader.loadGraph();
         } catch (GraphReadingException e) {
             throw new ExecutionInterruptedException(e.getMessage());
         }
 
-        double alpha = 1.0 / 10.0;
+        LOGGER.info("Seed {}", streams.seed());
 
-        PairLoader<Integer> pairLoader = new PairLoaderImpl(graph, alpha, numberEndpointPairs);
+        PairLoader<Integer> pairLoader = pairLoader(graph, streams, numberEndpointPairs);
 
         try {
             pairLoader.generatePairs();
@@ -71,35 +169,79 @@ public class VertexDisjointPathsExecutor implements Executor {
 
         pairLoader.printPairs();
 
-        long avgDuration = 0;
+        ExecutorService attemptPool = null;
 
-        if (mode == ExecutionMode.BENCHMARK_MODE) {
-            LOGGER.info("Executing 5 warmup iterations");
-            warmup(graph, pairLoader);
+        if (parallelAttempts > 1) {
+
+            int poolSize = Math.min(parallelAttempts, Runtime.getRuntime().availableProcessors());
+            LOGGER.info("Racing {} attempts on {} threads", parallelAttempts, poolSize);
+            attemptPool = Executors.newFixedThreadPool(poolSize);
         }
 
-        for (int i = 0; i < iterations; i++) {
+        try {
+            runIterations(graph, pairLoader, attemptPool);
+        } finally {
+
+            if (attemptPool != null) {
+                attemptPool.shutdownNow();
+            }
+        }
+    }
 
-            if (mode == ExecutionMode.BENCHMARK_MODE)
-                LOGGER.info("Benchmark iteration {}", i + 1);
 
+    private void runIterations(IntGraph graph, PairLoader<Integer> pairLoader, ExecutorService attemptPool)
+        throws ExecutionInterruptedException {
 
-            long startTime = System.currentTimeMillis();
+        // every thread reuses its own context for all of its attempts
+        ThreadLocal<SolveContext> contexts = ThreadLocal.withInitial(() -> new SolveContext(graph));
+        BenchmarkRecorder recorder = null;
+        VertexDisjointPaths vdp = null;
 
-            VertexDisjointPaths vdp = executeVDP(graph, pairLoader)
-                    .orElseThrow();
+        // a benchmark of the race solves every iteration sequentially as well, which gives the speedup of the race
+        Histogram raceNanos = null;
+        Histogram sequentialNanos = null;
 
-            long endTime = System.currentTimeMillis();
-            long duration = endTime - startTime;
+        if (mode == ExecutionMode.BENCHMARK_MODE) {
 
+            LOGGER.info("Executing {} warmup iterations", WARMUP_ITERATIONS);
+            warmup(contexts, pairLoader, attemptPool);
 
-            avgDuration += duration;
+            String graphName = Path.of(graphInputPath).getFileName().toString();
+            recorder = new BenchmarkRecorder(graphName, graph, numberEndpointPairs, parallelAttempts);
 
-            if (mode == ExecutionMode.BENCHMARK_MODE)
-                LOGGER.info("Algorithm duration: {} ms", duration);
+            if (attemptPool != null) {
+                raceNanos = new Histogram(3);
+                sequentialNanos = new Histogram(3);
+            }
+        }
 
+        for (int i = 0; i < iterations; i++) {
+
+            AttemptStatistics statistics = new AttemptStatistics();
+
+            if (recorder != null) {
+                LOGGER.info("Benchmark iteration {}", i + 1);
+                recorder.startIteration();
+            }
 
-            vdp.printDisjointPaths();
+            long solveStart = System.nanoTime();
+            vdp = executeVDP(contexts, pairLoader, attemptPool, statistics, i + 1)
+                    .orElseThrow(() -> new ExecutionInterruptedException("Attempts were interrupted"));
+            long solveNanos = System.nanoTime() - solveStart;
+
+            if (recorder != null) {
+                recorder.endIteration(statistics);
+                logStatistics(statistics);
+            }
+
+            if (raceNanos != null) {
+
+                long sequentialStart = System.nanoTime();
+                solveSequentially(contexts, pairLoader, new AttemptStatistics(), i + 1);
+
+                raceNanos.recordValue(solveNanos);
+                sequentialNanos.recordValue(System.nanoTime() - sequentialStart);
+            }
 
             try {
                 vdp.verifyResult();
@@ -111,24 +253,132 @@ public class VertexDisjointPathsExecutor implements Executor {
         }
 
 
-        if (mode == ExecutionMode.BENCHMARK_MODE) {
+        if (vdp != null) {
+            writePaths(graph, vdp);
+        }
+
+        if (recorder != null) {
+
+            recorder.logSummary();
+
+            if (raceNanos != null) {
+                logSpeedup(raceNanos, sequentialNanos);
+            }
 
-            float executionDuration = (float) avgDuration / iterations;
-            LOGGER.info("Algorithm executed {} time{}", iterations, (iterations > 1 ? "s" : ""));
-            LOGGER.info("Average algorithm duration: {} ms", executionDuration);
+            try {
+                LOGGER.info("Benchmark results written to {}", recorder.write(Path.of(BENCHMARK_RESULTS_DIRECTORY)));
+            } catch (IOException e) {
+                LOGGER.error("Cannot write the benchmark results: {}", e.getMessage());
+            }
         }
 
     }
 
 
-    private void warmup(Graph<Integer, DefaultWeightedEdge> graph, PairLoader<Integer> pairLoader) {
+    private void writePaths(IntGraph graph, VertexDisjointPaths vdp) throws ExecutionInterruptedException {
+
+        long start = System.nanoTime();
+        PathSink sink;
+
+        try {
+            if (outputPath.getParent() != null) {
+                Files.createDirectories(outputPath.getParent());
+            }
+
+            sink = switch (OutputFormat.of(outputPath)) {
+                case BINARY -> new BinaryPathSink(outputPath, graph::labelOf);
+                case NDJSON -> new NdjsonPathSink(Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8), graph::labelOf);
+            };
+
+            try (sink) {
+                vdp.writeDisjointPaths(sink);
+            }
+
+            LOGGER.info("Wrote {} paths with {} vertices to {} ({} bytes) in {} ms",
+                sink.getPathCount(), sink.getVertexCount(), outputPath, Files.size(outputPath),
+                String.format(Locale.ROOT, "%.3f", (System.nanoTime() - start) / 1e6));
 
-        for (int i = 0; i < 5; i++) {
-            executeVDP(graph, pairLoader);
+        } catch (IOException e) {
+
+            LOGGER.error("Cannot write the paths to {}: {}", outputPath, e.getMessage());
+            throw new ExecutionInterruptedException(e.getMessage());
         }
     }
 
-    private Optional<VertexDisjointPaths> executeVDP(Graph<Integer, DefaultWeightedEdge> graph, PairLoader<Integer> pairLoader) {
+
+    private void warmup(ThreadLocal<SolveContext> contexts,
+                        PairLoader<Integer> pairLoader,
+                        ExecutorService attemptPool) {
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            executeVDP(contexts, pairLoader, attemptPool, new AttemptStatistics(), i - WARMUP_ITERATIONS);
+        }
+    }
+
+
+    /**
+     * @param graphInputPath path to the graph file.
+     * @return the loader of the graph file. A missing file {@code rand_<n>.gr} is generated in memory
+     * by {@link RandomGraphGenerator}, so large random graphs need no file.
+     */
+    static GraphLoader graphLoader(String graphInputPath) {
+
+        Path path = Path.of(graphInputPath);
+
+        if (!Files.exists(path)) {
+
+            RandomGraphGenerator generator = RandomGraphGenerator.forName(path.getFileName().toString());
+
+            if (generator != null) {
+
+                LOGGER.info("{} does not exist, generating it in memory", graphInputPath);
+                return generator;
+            }
+        }
+
+        return new SnapshotGraphLoader(graphInputPath, new MappedDimacsGraphLoader(graphInputPath));
+    }
+
+
+    /**
+     * @return the pair loader of a run with the specified streams.
+     */
+    static PairLoader<Integer> pairLoader(IntGraph graph, RandomStreams streams, int numberPairs) {
+        return new PairLoaderImpl(graph, ALPHA, numberPairs, streams.child(PAIR_STREAM).random());
+    }
+
+
+    /**
+     * @param streams the streams of a run.
+     * @param iteration the iteration from 1 on, or a warmup iteration from {@code -WARMUP_ITERATIONS} to -1.
+     * @param attempt the attempt of the iteration from 1 on.
+     * @return the random streams of the attempt.
+     */
+    static RandomStreams attemptStreams(RandomStreams streams, int iteration, int attempt) {
+        return streams.child(SOLVE_STREAM, iteration, attempt);
+    }
+
+    private Optional<VertexDisjointPaths> executeVDP(ThreadLocal<SolveContext> contexts,
+                                                     PairLoader<Integer> pairLoader,
+                                                     ExecutorService attemptPool,
+                                                     AttemptStatistics statistics,
+                                                     int iteration) {
+
+        if (attemptPool != null) {
+            return raceVDP(contexts, pairLoader, attemptPool, statistics, iteration);
+        }
+
+        return Optional.of(solveSequentially(contexts, pairLoader, statistics, iteration));
+    }
+
+
+    /**
+     * Repeats attempts on the current thread until one of them succeeds.
+     */
+    private VertexDisjointPaths solveSequentially(ThreadLocal<SolveContext> contexts,
+                                                  PairLoader<Integer> pairLoader,
+                                                  AttemptStatistics statistics,
+                                                  int iteration) {
 
         VertexDisjointPaths vertexDisjointPaths = null;
         boolean success = false;
@@ -136,12 +386,182 @@ public class VertexDisjointPathsExecutor implements Executor {
 
         while (!success) {
 
-            LOGGER.debug("Executing vertex-disjoint-paths - attempt {}", attempts++);
-            vertexDisjointPaths = new VertexDisjointPathsImpl(graph, pairLoader.getPairs());
+            LOGGER.debug("Executing vertex-disjoint-paths - iteration {} attempt {}", iteration, attempts);
+            vertexDisjointPaths = new VertexDisjointPathsImpl(pairLoader.getPairs(), contexts.get(),
+                attemptStreams(streams, iteration, attempts));
             success = vertexDisjointPaths.findDisjointPaths();
+            statistics.record(vertexDisjointPaths);
+            logAttempt(iteration, attempts++, vertexDisjointPaths);
+
+        }
+
+        LOGGER.debug("Found vertex-disjoint paths after {} attempts", attempts - 1);
+
+        return vertexDisjointPaths;
+    }
+
+
+    /**
+     * Races {@code parallelAttempts} workers, each of which repeats attempts until one of them succeeds.
+     * The first successful attempt is returned and the other workers are interrupted, which makes their
+     * current attempt stop at the next step boundary. The race returns only after every worker has stopped,
+     * and a worker, which has been interrupted, records no further attempts, so that the statistics of the
+     * iteration are complete, when the race returns.
+     */
+    private Optional<VertexDisjointPaths> raceVDP(ThreadLocal<SolveContext> contexts,
+                                                  PairLoader<Integer> pairLoader,
+                                                  ExecutorService attemptPool,
+                                                  AttemptStatistics statistics,
+                                                  int iteration) {
+
+        AtomicInteger attempts = new AtomicInteger();
+        CompletionService<VertexDisjointPaths> completionService = new ExecutorCompletionService<>(attemptPool);
+        List<Future<VertexDisjointPaths>> workers = new ArrayList<>(parallelAttempts);
+
+        // a worker is claimed either by itself, when it starts, or by the race, when it is over,
+        // so that a worker, which has been cancelled before it started, counts as stopped
+        AtomicBoolean[] claimed = new AtomicBoolean[parallelAttempts];
+        CountDownLatch stopped = new CountDownLatch(parallelAttempts);
+
+        long raceStart = System.nanoTime();
+
+        for (int i = 0; i < parallelAttempts; i++) {
+
+            AtomicBoolean workerClaimed = new AtomicBoolean();
+            claimed[i] = workerClaimed;
+
+            workers.add(completionService.submit(() -> {
+
+                if (!workerClaimed.compareAndSet(false, true)) {
+                    throw new InterruptedException("Attempt cancelled");
+                }
+
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+
+                        int attempt = attempts.incrementAndGet();
+                        LOGGER.debug("Executing vertex-disjoint-paths - iteration {} attempt {}", iteration, attempt);
+
+                        VertexDisjointPaths vertexDisjointPaths = new VertexDisjointPathsImpl(pairLoader.getPairs(),
+                            contexts.get(), attemptStreams(streams, iteration, attempt));
+                        boolean success = vertexDisjointPaths.findDisjointPaths();
+
+                        if (Thread.currentThread().isInterrupted()) {
+                            break;
+                        }
+
+                        statistics.record(vertexDisjointPaths);
+                        logAttempt(iteration, attempt, vertexDisjointPaths);
+
+                        if (success) {
+                            return vertexDisjointPaths;
+                        }
+                    }
+
+                    throw new InterruptedException("Attempt cancelled");
+
+                } finally {
+                    stopped.countDown();
+                }
+            }));
+        }
+
+        VertexDisjointPaths winner = null;
 
+        try {
+
+            for (int failed = 0; failed < parallelAttempts && winner == null; failed++) {
+
+                try {
+                    winner = completionService.take().get();
+                } catch (ExecutionException e) {
+                    LOGGER.error("Attempt failed: {}", e.getCause().toString());
+                }
+            }
+
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+
+        } finally {
+
+            for (int i = 0; i < parallelAttempts; i++) {
+
+                workers.get(i).cancel(true);
+
+                if (claimed[i].compareAndSet(false, true)) {
+                    stopped.countDown();
+                }
+            }
+
+            awaitUninterruptibly(stopped);
+        }
+
+        if (winner != null) {
+            LOGGER.info("Found vertex-disjoint paths after {} attempts in {} ms",
+                statistics.attempts(), (System.nanoTime() - raceStart) / 1_000_000);
+        } else if (!Thread.currentThread().isInterrupted()) {
+            LOGGER.error("All attempts failed");
         }
 
-        return Optional.of(vertexDisjointPaths);
+        return Optional.ofNullable(winner);
+    }
+
+
+    /**
+     * Waits for the latch, even if the current thread is interrupted, and restores the interrupt afterwards.
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+
+        boolean interrupted = false;
+
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Logs the timings of an attempt together with what is needed to replay it.
+     */
+    private void logAttempt(int iteration, int attempt, VertexDisjointPaths vertexDisjointPaths) {
+
+        LOGGER.debug("Seed {} iteration {} attempt {} took {} ms: {}",
+            streams.seed(), iteration, attempt,
+            String.format(Locale.ROOT, "%.3f", vertexDisjointPaths.getTimings().getTotalNanos() / 1e6),
+            vertexDisjointPaths.getTimings());
+    }
+
+
+    /**
+     * Logs the median wall time of the race against the median time of the sequential solves of the same iterations.
+     */
+    private void logSpeedup(Histogram raceNanos, Histogram sequentialNanos) {
+
+        double raceMedian = raceNanos.getValueAtPercentile(50);
+        double sequentialMedian = sequentialNanos.getValueAtPercentile(50);
+
+        LOGGER.info("Median race time {} ms against median sequential time {} ms, speedup {}",
+            String.format(Locale.ROOT, "%.3f", raceMedian / 1e6),
+            String.format(Locale.ROOT, "%.3f", sequentialMedian / 1e6),
+            String.format(Locale.ROOT, "%.2f", sequentialMedian / raceMedian));
+    }
+
+
+    private void logStatistics(AttemptStatistics statistics) {
+
+        LOGGER.info("Failed attempts by reason: {}", statistics.failures());
+        LOGGER.info("Stage retries by reason: {}", statistics.retries());
+        LOGGER.info("Time of {} attempts by stage: {}", statistics.attempts(), statistics.stageTimes());
+        LOGGER.info("Time of failed attempts by reason: {}", statistics.failureTimes());
     }
 }
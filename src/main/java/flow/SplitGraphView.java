@@ -0,0 +1,299 @@
+package flow;
+
+import graph.IntGraph;
+import graph.SubgraphLabels;
+
+import java.util.Arrays;
+
+/**
+ * A virtual view of the split graph X with a unit flow on it. Every vertex {@code v} of X is split into
+ * {@code v}<sub>in</sub> and {@code v}<sub>out</sub>, connected by an arc of capacity 1, and every edge
+ * {@code {u, w}} of X becomes the arcs {@code u}<sub>out</sub> &rarr; {@code w}<sub>in</sub> and
+ * {@code w}<sub>out</sub> &rarr; {@code u}<sub>in</sub>. The source is connected with {@code s}<sub>in</sub>
+ * of every start vertex {@code s}, and {@code t}<sub>out</sub> of every target vertex {@code t} is connected
+ * with the sink.
+ * <p>
+ * The arcs are not stored. They are computed on the fly from the adjacency of the main graph and the
+ * labels of the vertices, which tell whether a vertex is in X. The residual arcs of a node are numbered as follows:
+ * <ul>
+ *     <li>{@code v}<sub>in</sub>: {@code 0 .. deg(v) - 1} are the reverse arcs to {@code u}<sub>out</sub>
+ *     of all neighbours {@code u}, {@code deg(v)} is the arc to {@code v}<sub>out</sub>.</li>
+ *     <li>{@code v}<sub>out</sub>: {@code 0 .. deg(v) - 1} are the arcs to {@code w}<sub>in</sub> of all
+ *     neighbours {@code w}, {@code deg(v)} is the arc to the sink, {@code deg(v) + 1} is the reverse arc to
+ *     {@code v}<sub>in</sub>.</li>
+ *     <li>source: {@code i} is the arc to the {@code i}-th start vertex.</li>
+ * </ul>
+ * Reverse arcs into the source and out of the sink are left out, since no augmenting path uses them.
+ * The flow on the edge arcs is kept in two bitsets over the slots of the main graph: one indexed
+ * by the slot of the arc's tail and one mirrored at the slot of its head, so both directions are read in O(1).
+ * Since every vertex carries at most one unit of flow, the vertex, which the flow enters after leaving a vertex,
+ * is recorded when the flow is pushed, so the flow paths are decomposed in O(total path length).
+ */
+public final class SplitGraphView {
+
+    private static final byte TARGET = 1;
+    private static final byte INTERNAL_FLOW = 1 << 1;
+    private static final byte SOURCE_FLOW = 1 << 2;
+    private static final byte SINK_FLOW = 1 << 3;
+
+    /**
+     * Returned by {@link #flowSuccessor(int)}, if the flow leaves a vertex into the sink.
+     */
+    public static final int SINK = -1;
+
+    /**
+     * Returned by {@link #flowSuccessor(int)}, if there is no flow through a vertex.
+     */
+    public static final int NO_FLOW = -2;
+
+    private final IntGraph graph;
+    private final SubgraphLabels labels;
+    private int[] startVertices;
+    private final byte[] state;
+
+    // flow on u_out -> w_in, by the slot of w among the neighbours of u
+    private final long[] outFlow;
+    // the same flow, by the slot of u among the neighbours of w
+    private final long[] inFlow;
+    // the vertex, which the flow enters after leaving a vertex, SINK or NO_FLOW
+    private final int[] successor;
+
+
+    /**
+     * @param graph          the main graph.
+     * @param labels         the labels of all vertices.
+     * @param startVertices  the vertices connected with the source.
+     * @param targetVertices the vertices connected with the sink.
+     */
+    public SplitGraphView(IntGraph graph, SubgraphLabels labels, int[] startVertices, int[] targetVertices) {
+
+        this(graph, labels);
+        reset(startVertices, targetVertices);
+    }
+
+
+    /**
+     * Creates a view without start and target vertices. {@link #reset(int[], int[])} sets them.
+     *
+     * @param graph  the main graph.
+     * @param labels the labels of all vertices.
+     */
+    public SplitGraphView(IntGraph graph, SubgraphLabels labels) {
+
+        this.graph = graph;
+        this.labels = labels;
+        this.startVertices = new int[0];
+        this.state = new byte[graph.vertexCount()];
+        this.outFlow = new long[(graph.slotCount() + 63) >>> 6];
+        this.inFlow = new long[(graph.slotCount() + 63) >>> 6];
+        this.successor = new int[graph.vertexCount()];
+
+        Arrays.fill(successor, NO_FLOW);
+    }
+
+
+    /**
+     * Removes the flow and replaces the start and target vertices, so the view can be reused
+     * for another flow without allocating its arrays again.
+     *
+     * @param startVertices  the vertices connected with the source.
+     * @param targetVertices the vertices connected with the sink.
+     */
+    public void reset(int[] startVertices, int[] targetVertices) {
+
+        this.startVertices = startVertices;
+
+        Arrays.fill(state, (byte) 0);
+        Arrays.fill(outFlow, 0L);
+        Arrays.fill(inFlow, 0L);
+        Arrays.fill(successor, NO_FLOW);
+
+        for (int t : targetVertices) {
+            state[t] |= TARGET;
+        }
+    }
+
+
+    // ================== NODES ==========================
+
+    public int nodeCount() {
+        return 2 * graph.vertexCount() + 2;
+    }
+
+    public int source() {
+        return 2 * graph.vertexCount();
+    }
+
+    public int sink() {
+        return 2 * graph.vertexCount() + 1;
+    }
+
+    public static int inNode(int v) {
+        return 2 * v;
+    }
+
+    public static int outNode(int v) {
+        return 2 * v + 1;
+    }
+
+
+    // ================== ARCS ==========================
+
+    /**
+     * @param node a node of the split graph.
+     * @return the number of residual arc positions of {@code node}.
+     */
+    public int arcCount(int node) {
+
+        if (node == source()) {
+            return startVertices.length;
+        }
+
+        if (node == sink()) {
+            return 0;
+        }
+
+        int v = node >>> 1;
+        return (node & 1) == 0 ? graph.degree(v) + 1 : graph.degree(v) + 2;
+    }
+
+    /**
+     * @param node     a node of the split graph.
+     * @param position an arc position in {@code [0, arcCount(node))}.
+     * @return the head of the arc.
+     */
+    public int arcTarget(int node, int position) {
+
+        if (node == source()) {
+            return inNode(startVertices[position]);
+        }
+
+        int v = node >>> 1;
+        int degree = graph.degree(v);
+
+        if ((node & 1) == 0) {
+            return position < degree ? outNode(graph.neighbour(v, position)) : outNode(v);
+        }
+
+        if (position < degree) {
+            return inNode(graph.neighbour(v, position));
+        }
+
+        return position == degree ? sink() : inNode(v);
+    }
+
+    /**
+     * @param node     a node of the split graph.
+     * @param position an arc position in {@code [0, arcCount(node))}.
+     * @return true, if the arc exists and has a residual capacity of 1.
+     */
+    public boolean hasResidualCapacity(int node, int position) {
+
+        if (node == source()) {
+            return (state[startVertices[position]] & SOURCE_FLOW) == 0;
+        }
+
+        int v = node >>> 1;
+        int degree = graph.degree(v);
+
+        if ((node & 1) == 0) {
+
+            if (position == degree) {
+                return (state[v] & INTERNAL_FLOW) == 0;
+            }
+
+            // the reverse of u_out -> v_in has capacity, if there is flow on it
+            return isSet(inFlow, graph.slot(v, position));
+        }
+
+        if (position < degree) {
+
+            int w = graph.neighbour(v, position);
+            return labels.isInX(w) && !isSet(outFlow, graph.slot(v, position));
+        }
+
+        if (position == degree) {
+            return (state[v] & (TARGET | SINK_FLOW)) == TARGET;
+        }
+
+        return (state[v] & INTERNAL_FLOW) != 0;
+    }
+
+    /**
+     * Pushes one unit of flow along a residual arc.
+     *
+     * @param node     a node of the split graph.
+     * @param position an arc position with residual capacity.
+     */
+    public void push(int node, int position) {
+
+        if (node == source()) {
+            state[startVertices[position]] |= SOURCE_FLOW;
+            return;
+        }
+
+        int v = node >>> 1;
+        int degree = graph.degree(v);
+
+        if ((node & 1) == 0) {
+
+            if (position == degree) {
+                state[v] |= INTERNAL_FLOW;
+                return;
+            }
+
+            // cancel the flow on u_out -> v_in
+            int u = graph.neighbour(v, position);
+            clear(inFlow, graph.slot(v, position));
+            clear(outFlow, graph.slot(u, graph.neighbourIndex(u, v)));
+
+            // u may already have been given its new successor by this augmenting path
+            if (successor[u] == v) {
+                successor[u] = NO_FLOW;
+            }
+            return;
+        }
+
+        if (position < degree) {
+
+            int w = graph.neighbour(v, position);
+            set(outFlow, graph.slot(v, position));
+            set(inFlow, graph.slot(w, graph.neighbourIndex(w, v)));
+            successor[v] = w;
+            return;
+        }
+
+        if (position == degree) {
+            state[v] |= SINK_FLOW;
+            successor[v] = SINK;
+        } else {
+            state[v] &= ~INTERNAL_FLOW;
+        }
+    }
+
+
+    // ================== FLOW ==========================
+
+    /**
+     * Returns the vertex, which the flow enters after leaving {@code v}.
+     *
+     * @param v a vertex of X.
+     * @return the next vertex on the flow path, {@link #SINK} or {@link #NO_FLOW}.
+     */
+    public int flowSuccessor(int v) {
+        return successor[v];
+    }
+
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+}
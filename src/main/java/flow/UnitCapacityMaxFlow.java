@@ -0,0 +1,153 @@
+package flow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+
+/**
+ * A maximum flow engine for the unit-capacity network of Step 3, which runs Dinic's algorithm
+ * on a {@link SplitGraphView}. Dinic's algorithm needs O(E &middot; sqrt(V)) time on unit-capacity networks.
+ */
+public class UnitCapacityMaxFlow {
+
+    private static final Logger LOGGER = LogManager.getLogger(UnitCapacityMaxFlow.class);
+
+    private final SplitGraphView network;
+
+    private final int[] level;
+    private final int[] currentArc;
+    private final int[] queue;
+    private final int[] nodeStack;
+
+
+    public UnitCapacityMaxFlow(SplitGraphView network) {
+
+        this.network = network;
+
+        int numberNodes = network.nodeCount();
+
+        this.level = new int[numberNodes];
+        this.currentArc = new int[numberNodes];
+        this.queue = new int[numberNodes];
+        this.nodeStack = new int[numberNodes];
+    }
+
+
+    /**
+     * Pushes flow from the source to the sink, until there is no augmenting path
+     * or the flow value reaches {@code limit}. The flow is stored in the network.
+     *
+     * @param limit the flow value, after which the computation stops.
+     * @return the flow value.
+     */
+    public int calculateMaximumFlow(int limit) {
+
+        LOGGER.trace("Performing Dinic's algorithm");
+
+        int flow = 0;
+
+        while (flow < limit && buildLevelGraph()) {
+
+            Arrays.fill(currentArc, 0);
+
+            while (flow < limit && augment()) {
+                flow++;
+            }
+        }
+
+        return flow;
+    }
+
+
+    /**
+     * Computes the BFS levels of the residual network.
+     *
+     * @return true, if the sink is reachable.
+     */
+    private boolean buildLevelGraph() {
+
+        Arrays.fill(level, -1);
+
+        int source = network.source();
+        int sink = network.sink();
+        int head = 0;
+        int tail = 0;
+
+        level[source] = 0;
+        queue[tail++] = source;
+
+        while (head < tail && level[sink] == -1) {
+
+            int node = queue[head++];
+            int arcCount = network.arcCount(node);
+
+            for (int position = 0; position < arcCount; position++) {
+
+                int target = network.arcTarget(node, position);
+
+                if (level[target] == -1 && network.hasResidualCapacity(node, position)) {
+
+                    level[target] = level[node] + 1;
+                    queue[tail++] = target;
+                }
+            }
+        }
+
+        return level[sink] != -1;
+    }
+
+    /**
+     * Searches one augmenting path in the level graph and pushes one unit of flow along it.
+     * Dead ends are removed from the level graph, so every arc is skipped at most once per phase.
+     *
+     * @return true, if a path was found.
+     */
+    private boolean augment() {
+
+        int source = network.source();
+        int sink = network.sink();
+        int node = source;
+        int depth = 0;
+
+        while (node != sink) {
+
+            int position = currentArc[node];
+            int arcCount = network.arcCount(node);
+
+            while (position < arcCount && !isLevelArc(node, position)) {
+                position++;
+            }
+
+            currentArc[node] = position;
+
+            if (position < arcCount) {
+
+                nodeStack[depth++] = node;
+                node = network.arcTarget(node, position);
+                continue;
+            }
+
+            if (node == source) {
+                return false;
+            }
+
+            // retreat from the dead end and skip the arc into it
+            level[node] = -1;
+            node = nodeStack[--depth];
+            currentArc[node]++;
+        }
+
+        for (int i = 0; i < depth; i++) {
+            network.push(nodeStack[i], currentArc[nodeStack[i]]);
+        }
+
+        return true;
+    }
+
+    private boolean isLevelArc(int node, int position) {
+
+        int target = network.arcTarget(node, position);
+        return level[target] == level[node] + 1 && network.hasResidualCapacity(node, position);
+    }
+}
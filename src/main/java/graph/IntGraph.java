@@ -0,0 +1,88 @@
+package graph;
+
+/**
+ * An immutable, simple undirected graph over dense vertex ids {@code 0 .. vertexCount() - 1}.
+ * The neighbours of every vertex are kept in ascending order, and every vertex id is
+ * mapped to the label, which the vertex has in the input file.
+ */
+public interface IntGraph {
+
+    /**
+     * @return the number of vertices.
+     */
+    int vertexCount();
+
+    /**
+     * @return the number of vertices, which have not been deleted. A deleted vertex of a changed graph keeps its id
+     * without neighbours until the graph is rebuilt, so it counts in {@link #vertexCount()}, but not here.
+     */
+    default int liveVertexCount() {
+        return vertexCount();
+    }
+
+    /**
+     * @param v the vertex.
+     * @return false if {@code v} has been deleted from a changed graph.
+     */
+    default boolean isLive(int v) {
+        return true;
+    }
+
+    /**
+     * @return the number of undirected edges.
+     */
+    int edgeCount();
+
+    /**
+     * @param v a vertex id.
+     * @return the number of neighbours of {@code v}.
+     */
+    int degree(int v);
+
+    /**
+     * @param v a vertex id.
+     * @param i an index in {@code [0, degree(v))}.
+     * @return the {@code i}-th smallest neighbour of {@code v}.
+     */
+    int neighbour(int v, int i);
+
+    /**
+     * Every (vertex, neighbour index) pair has a slot in {@code [0, slotCount())}, which can be used
+     * to index per-arc data in arrays.
+     *
+     * @param v a vertex id.
+     * @param i an index in {@code [0, degree(v))}.
+     * @return the slot of the {@code i}-th neighbour of {@code v}.
+     */
+    int slot(int v, int i);
+
+    /**
+     * @return the number of slots, i.e. twice the number of edges.
+     */
+    int slotCount();
+
+    /**
+     * Searches {@code w} in the sorted neighbours of {@code v}.
+     *
+     * @param v a vertex id.
+     * @param w a vertex id.
+     * @return the index of {@code w} among the neighbours of {@code v}, or -1 if they are not adjacent.
+     */
+    int neighbourIndex(int v, int w);
+
+    /**
+     * @param v a vertex id.
+     * @return the label of {@code v} in the input file.
+     */
+    int labelOf(int v);
+
+    /**
+     * @param label a vertex label from the input file.
+     * @return the vertex id with this label, or -1 if there is no such vertex.
+     */
+    int indexOf(int label);
+
+    default boolean hasEdge(int u, int w) {
+        return neighbourIndex(u, w) >= 0;
+    }
+}
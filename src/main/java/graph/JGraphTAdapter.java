@@ -0,0 +1,72 @@
+package graph;
+
+import graph.impl.CsrGraph;
+import graph.impl.CsrGraphBuilder;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.builder.GraphTypeBuilder;
+
+/**
+ * Converts between {@link IntGraph} and JGraphT graphs. The algorithm itself runs on {@link IntGraph};
+ * this adapter is kept for tools, which still expect a JGraphT graph.
+ */
+public final class JGraphTAdapter {
+
+    private JGraphTAdapter() {
+    }
+
+    /**
+     * Creates a simple weighted undirected JGraphT graph with the labels of {@code graph} as vertices
+     * and weight 1.0 on every edge.
+     *
+     * @param graph the graph to be converted.
+     * @return the JGraphT copy of {@code graph}.
+     */
+    public static Graph<Integer, DefaultWeightedEdge> toJGraphT(IntGraph graph) {
+
+        Graph<Integer, DefaultWeightedEdge> outputGraph = GraphTypeBuilder
+            .<Integer, DefaultWeightedEdge> undirected()
+            .allowingMultipleEdges(false)
+            .allowingSelfLoops(false)
+            .edgeClass(DefaultWeightedEdge.class)
+            .weighted(true)
+            .buildGraph();
+
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            outputGraph.addVertex(graph.labelOf(v));
+        }
+
+        for (int v = 0; v < graph.vertexCount(); v++) {
+
+            for (int i = 0; i < graph.degree(v); i++) {
+
+                int w = graph.neighbour(v, i);
+
+                if (v < w) {
+                    outputGraph.addEdge(graph.labelOf(v), graph.labelOf(w));
+                    outputGraph.setEdgeWeight(graph.labelOf(v), graph.labelOf(w), 1.0);
+                }
+            }
+        }
+
+        return outputGraph;
+    }
+
+    /**
+     * Creates a CSR graph out of a JGraphT graph with non-negative integer vertices.
+     * Edge directions and weights are ignored.
+     *
+     * @param graph the graph to be converted.
+     * @return the CSR copy of {@code graph}.
+     */
+    public static <E> CsrGraph fromJGraphT(Graph<Integer, E> graph) {
+
+        CsrGraphBuilder builder = new CsrGraphBuilder(graph.edgeSet().size());
+
+        for (E edge : graph.edgeSet()) {
+            builder.addEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,74 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * One int label per vertex, naming the vertex set of an attempt, which the vertex belongs to.
+ * <p>
+ * Every subgraph of the algorithm is the subgraph induced by the vertices with one label, so restricting
+ * a search to a subgraph is a single array read, and removing a vertex from a subgraph is a single write.
+ */
+public class SubgraphLabels {
+
+    public static final int UNASSIGNED = 0;
+    public static final int X1 = 1;
+    public static final int K = 2;
+    public static final int ENDPOINT = 3;
+    public static final int Z1 = 4;
+    public static final int Z2 = 5;
+    public static final int CONSUMED = 6;
+
+    private final int[] labels;
+
+
+    public SubgraphLabels(int numberVertices) {
+        this.labels = new int[numberVertices];
+    }
+
+
+    public int get(int v) {
+        return labels[v];
+    }
+
+    public void set(int v, int label) {
+        labels[v] = label;
+    }
+
+    public boolean is(int v, int label) {
+        return labels[v] == label;
+    }
+
+    /**
+     * @return true, if {@code v} is in X = X1 &cup; K &cup; the endpoints.
+     */
+    public boolean isInX(int v) {
+
+        int label = labels[v];
+        return label == X1 || label == K || label == ENDPOINT;
+    }
+
+    public int size() {
+        return labels.length;
+    }
+
+    /**
+     * Sets the label of every vertex in Y, i.e. every vertex with label {@link #Z1}, {@link #Z2}
+     * or {@link #CONSUMED}, back to {@link #UNASSIGNED}.
+     */
+    public void clearY() {
+
+        for (int v = 0; v < labels.length; v++) {
+
+            if (labels[v] >= Z1) {
+                labels[v] = UNASSIGNED;
+            }
+        }
+    }
+
+    /**
+     * Sets the label of every vertex to {@link #UNASSIGNED}.
+     */
+    public void clear() {
+        Arrays.fill(labels, UNASSIGNED);
+    }
+}
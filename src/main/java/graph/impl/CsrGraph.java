@@ -0,0 +1,108 @@
+package graph.impl;
+
+import graph.IntGraph;
+
+import java.util.Arrays;
+
+/**
+ * A compressed-sparse-row graph. The neighbours of vertex {@code v} are stored in
+ * {@code neighbours[offsets[v] .. offsets[v + 1])} in ascending order.
+ */
+public final class CsrGraph implements IntGraph {
+
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final int[] labels;
+    private final int[] labelIndex;
+
+
+    /**
+     * Creates a graph from already built arrays. The arrays are not copied.
+     *
+     * @param offsets    {@code vertexCount + 1} offsets into {@code neighbours}.
+     * @param neighbours the sorted adjacency lists of all vertices, one after another.
+     * @param labels     the label of every vertex.
+     */
+    public CsrGraph(int[] offsets, int[] neighbours, int[] labels) {
+
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.labels = labels;
+
+        int maxLabel = Arrays.stream(labels).max().orElse(0);
+        this.labelIndex = new int[maxLabel + 1];
+        Arrays.fill(labelIndex, -1);
+
+        for (int v = 0; v < labels.length; v++) {
+            labelIndex[labels[v]] = v;
+        }
+    }
+
+    @Override
+    public int vertexCount() {
+        return labels.length;
+    }
+
+    @Override
+    public int edgeCount() {
+        return neighbours.length / 2;
+    }
+
+    @Override
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    @Override
+    public int neighbour(int v, int i) {
+        return neighbours[offsets[v] + i];
+    }
+
+    @Override
+    public int slot(int v, int i) {
+        return offsets[v] + i;
+    }
+
+    @Override
+    public int slotCount() {
+        return neighbours.length;
+    }
+
+    @Override
+    public int neighbourIndex(int v, int w) {
+
+        int slot = Arrays.binarySearch(neighbours, offsets[v], offsets[v + 1], w);
+        return slot >= 0 ? slot - offsets[v] : -1;
+    }
+
+    @Override
+    public int labelOf(int v) {
+        return labels[v];
+    }
+
+    @Override
+    public int indexOf(int label) {
+        return label >= 0 && label < labelIndex.length ? labelIndex[label] : -1;
+    }
+
+    /**
+     * @return the offsets array. It must not be modified.
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * @return the neighbours array. It must not be modified.
+     */
+    public int[] neighbours() {
+        return neighbours;
+    }
+
+    /**
+     * @return the labels array. It must not be modified.
+     */
+    public int[] labels() {
+        return labels;
+    }
+}
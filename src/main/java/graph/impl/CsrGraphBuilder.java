@@ -0,0 +1,148 @@
+package graph.impl;
+
+import java.util.Arrays;
+
+/**
+ * Collects undirected edges between vertex labels and builds a {@link CsrGraph} out of them.
+ * Self-loops are skipped and parallel edges are merged. Only labels, which appear in an edge,
+ * become vertices.
+ */
+public class CsrGraphBuilder {
+
+    private long[] edges;
+    private int size;
+
+
+    public CsrGraphBuilder() {
+        this(16);
+    }
+
+    public CsrGraphBuilder(int expectedEdges) {
+        this.edges = new long[Math.max(expectedEdges, 16)];
+    }
+
+    /**
+     * Adds an undirected edge between two labels.
+     *
+     * @param u a non-negative vertex label.
+     * @param w a non-negative vertex label.
+     */
+    public void addEdge(int u, int w) {
+
+        if (u == w) {
+            return;
+        }
+
+        if (size == edges.length) {
+            edges = Arrays.copyOf(edges, 2 * size);
+        }
+
+        edges[size++] = pack(u, w);
+    }
+
+    public CsrGraph build() {
+        return fromPackedEdges(edges, size);
+    }
+
+    /**
+     * Packs an undirected edge into a long, so that the smaller label is in the upper half.
+     */
+    public static long pack(int u, int w) {
+        return u < w ? ((long) u << 32) | w : ((long) w << 32) | u;
+    }
+
+    /**
+     * Builds a graph out of {@code count} packed edges. The array is sorted in place.
+     *
+     * @param edges edges packed with {@link #pack(int, int)}, without self-loops.
+     * @param count number of used entries in {@code edges}.
+     * @return the built graph.
+     */
+    public static CsrGraph fromPackedEdges(long[] edges, int count) {
+
+        Arrays.sort(edges, 0, count);
+        return fromSortedPackedEdges(edges, count);
+    }
+
+    /**
+     * Builds a graph out of {@code count} packed edges with a parallel sort. The array is sorted in place.
+     *
+     * @param edges edges packed with {@link #pack(int, int)}, without self-loops.
+     * @param count number of used entries in {@code edges}.
+     * @return the built graph.
+     */
+    public static CsrGraph fromPackedEdgesParallel(long[] edges, int count) {
+
+        Arrays.parallelSort(edges, 0, count);
+        return fromSortedPackedEdges(edges, count);
+    }
+
+    /**
+     * Builds a graph out of {@code count} sorted packed edges. Duplicates are skipped.
+     */
+    static CsrGraph fromSortedPackedEdges(long[] edges, int count) {
+
+        int maxLabel = -1;
+
+        for (int i = 0; i < count; i++) {
+            maxLabel = Math.max(maxLabel, Math.max((int) (edges[i] >>> 32), (int) edges[i]));
+        }
+
+        // degree per label, counting every distinct edge once for each endpoint
+        int[] labelDegree = new int[maxLabel + 1];
+
+        for (int i = 0; i < count; i++) {
+
+            if (i > 0 && edges[i] == edges[i - 1]) {
+                continue;
+            }
+
+            labelDegree[(int) (edges[i] >>> 32)]++;
+            labelDegree[(int) edges[i]]++;
+        }
+
+        int vertexCount = 0;
+
+        for (int degree : labelDegree) {
+            if (degree > 0) {
+                vertexCount++;
+            }
+        }
+
+        int[] labels = new int[vertexCount];
+        int[] labelIndex = new int[maxLabel + 1];
+        int[] offsets = new int[vertexCount + 1];
+
+        for (int label = 0, v = 0; label <= maxLabel; label++) {
+
+            if (labelDegree[label] == 0) {
+                continue;
+            }
+
+            labels[v] = label;
+            labelIndex[label] = v;
+            offsets[v + 1] = offsets[v] + labelDegree[label];
+            v++;
+        }
+
+        // Edges are sorted by their smaller endpoint first, so every adjacency list
+        // gets filled in ascending order.
+        int[] neighbours = new int[offsets[vertexCount]];
+        int[] cursor = Arrays.copyOf(offsets, vertexCount);
+
+        for (int i = 0; i < count; i++) {
+
+            if (i > 0 && edges[i] == edges[i - 1]) {
+                continue;
+            }
+
+            int u = labelIndex[(int) (edges[i] >>> 32)];
+            int w = labelIndex[(int) edges[i]];
+
+            neighbours[cursor[u]++] = w;
+            neighbours[cursor[w]++] = u;
+        }
+
+        return new CsrGraph(offsets, neighbours, labels);
+    }
+}
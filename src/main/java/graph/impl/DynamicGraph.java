@@ -0,0 +1,336 @@
+package graph.impl;
+
+import graph.IntGraph;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import util.IntList;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A graph, which changes by {@link GraphDelta}s without being reloaded. Every applied delta publishes a new
+ * immutable version, so a query keeps the version it started with, and every query, which starts after
+ * an update, sees it.
+ * <p>
+ * The changes are kept as an overlay on a CSR base graph: only the adjacency arrays of the changed vertices
+ * are copied, and the degrees and the number of edges are updated with every change. When the overlay
+ * holds more than 1/8 of the slots of the base graph, it is compacted into a new CSR graph.
+ * The compaction drops the deleted vertices, which moves the ids of the later vertices down, so ids are only
+ * valid within one version.
+ */
+public final class DynamicGraph {
+
+    private static final Logger LOGGER = LogManager.getLogger(DynamicGraph.class);
+    private static final int COMPACTION_DIVISOR = 8;
+
+    private CsrGraph base;
+    private int[][] patched;
+    private int vertexCount;
+    private int deletedCount;
+    private int edgeCount;
+    private long patchedSlots;
+    private IntList addedLabels;
+    private Map<Integer, Integer> addedIndex;
+    private BitSet deleted;
+
+    private volatile IntGraph current;
+
+
+    /**
+     * @param graph the first version. A graph, which isn't a {@link CsrGraph}, is copied into one.
+     */
+    public DynamicGraph(IntGraph graph) {
+        reset(graph instanceof CsrGraph csrGraph ? csrGraph : toCsrGraph(graph));
+    }
+
+
+    /**
+     * @return the latest version of the graph. It is immutable.
+     */
+    public IntGraph current() {
+        return current;
+    }
+
+
+    /**
+     * Applies the changes in their order. An insertion of an existing edge or a self-loop and a deletion of
+     * a missing edge or vertex are ignored.
+     *
+     * @return the new version and the number of applied and ignored changes.
+     */
+    public synchronized Update apply(GraphDelta delta) {
+
+        int applied = 0;
+
+        for (int i = 0; i < delta.size(); i++) {
+
+            boolean changed = switch (delta.type(i)) {
+                case GraphDelta.ADD_EDGE -> addEdge(delta.firstLabel(i), delta.secondLabel(i));
+                case GraphDelta.DELETE_EDGE -> deleteEdge(delta.firstLabel(i), delta.secondLabel(i));
+                default -> deleteVertex(delta.firstLabel(i));
+            };
+
+            if (changed) {
+                applied++;
+            }
+        }
+
+        IntGraph version = new OverlayGraph(base,
+            Arrays.copyOf(patched, vertexCount),
+            vertexCount - deletedCount,
+            edgeCount,
+            addedLabels.toArray(),
+            new HashMap<>(addedIndex),
+            (BitSet) deleted.clone());
+
+        boolean compacted = patchedSlots > base.slotCount() / COMPACTION_DIVISOR;
+
+        if (compacted) {
+            version = compact(version);
+        }
+
+        current = version;
+
+        LOGGER.debug("Applied {} of {} changes, {} vertices and {} edges{}", applied, delta.size(),
+            version.liveVertexCount(), version.edgeCount(), compacted ? ", compacted" : "");
+
+        return new Update(version, applied, delta.size() - applied, compacted);
+    }
+
+
+    private boolean addEdge(int uLabel, int wLabel) {
+
+        if (uLabel == wLabel) {
+            return false;
+        }
+
+        int u = vertexOrCreate(uLabel);
+        int w = vertexOrCreate(wLabel);
+
+        if (Arrays.binarySearch(adjacency(u), w) >= 0) {
+            return false;
+        }
+
+        insert(u, w);
+        insert(w, u);
+        edgeCount++;
+
+        return true;
+    }
+
+    private boolean deleteEdge(int uLabel, int wLabel) {
+
+        int u = vertexOf(uLabel);
+        int w = vertexOf(wLabel);
+
+        if (u == -1 || w == -1 || Arrays.binarySearch(adjacency(u), w) < 0) {
+            return false;
+        }
+
+        remove(u, w);
+        remove(w, u);
+        edgeCount--;
+
+        return true;
+    }
+
+    private boolean deleteVertex(int label) {
+
+        int v = vertexOf(label);
+
+        if (v == -1) {
+            return false;
+        }
+
+        int[] neighbours = adjacency(v);
+
+        for (int w : neighbours) {
+            remove(w, v);
+        }
+
+        edgeCount -= neighbours.length;
+        patch(v, new int[0]);
+        deleted.set(v);
+        deletedCount++;
+
+        return true;
+    }
+
+
+    /**
+     * @return the id of a live vertex, or -1.
+     */
+    private int vertexOf(int label) {
+
+        int v = rawVertexOf(label);
+        return v != -1 && deleted.get(v) ? -1 : v;
+    }
+
+    /**
+     * @return the id of the vertex, which is created or revived, if it doesn't exist.
+     */
+    private int vertexOrCreate(int label) {
+
+        int v = rawVertexOf(label);
+
+        if (v != -1) {
+
+            if (deleted.get(v)) {
+                deleted.clear(v);
+                deletedCount--;
+            }
+
+            return v;
+        }
+
+        if (vertexCount == patched.length) {
+            patched = Arrays.copyOf(patched, 2 * vertexCount + 1);
+        }
+
+        v = vertexCount++;
+        patch(v, new int[0]);
+        addedIndex.put(label, v);
+        addedLabels.add(label);
+
+        return v;
+    }
+
+    private int rawVertexOf(int label) {
+
+        int v = base.indexOf(label);
+        return v != -1 ? v : addedIndex.getOrDefault(label, -1);
+    }
+
+
+    private int[] adjacency(int v) {
+
+        if (patched[v] != null) {
+            return patched[v];
+        }
+
+        int start = base.offsets()[v];
+        return Arrays.copyOfRange(base.neighbours(), start, start + base.degree(v));
+    }
+
+    /**
+     * Inserts {@code w} into the sorted adjacency of {@code v}. Published arrays are never modified.
+     */
+    private void insert(int v, int w) {
+
+        int[] neighbours = adjacency(v);
+        int position = -Arrays.binarySearch(neighbours, w) - 1;
+
+        int[] result = new int[neighbours.length + 1];
+        System.arraycopy(neighbours, 0, result, 0, position);
+        result[position] = w;
+        System.arraycopy(neighbours, position, result, position + 1, neighbours.length - position);
+
+        patch(v, result);
+    }
+
+    private void remove(int v, int w) {
+
+        int[] neighbours = adjacency(v);
+        int position = Arrays.binarySearch(neighbours, w);
+
+        int[] result = new int[neighbours.length - 1];
+        System.arraycopy(neighbours, 0, result, 0, position);
+        System.arraycopy(neighbours, position + 1, result, position, neighbours.length - position - 1);
+
+        patch(v, result);
+    }
+
+    private void patch(int v, int[] neighbours) {
+
+        patchedSlots += neighbours.length - (patched[v] != null ? patched[v].length : 0);
+        patched[v] = neighbours;
+    }
+
+
+    /**
+     * Builds a CSR graph out of {@code version} and makes it the new base.
+     */
+    private CsrGraph compact(IntGraph version) {
+
+        long start = System.nanoTime();
+        CsrGraph graph = toCsrGraph(version, deleted);
+        reset(graph);
+
+        LOGGER.info("Compacted the graph into {} vertices and {} edges in {} ms",
+            graph.vertexCount(), graph.edgeCount(), (System.nanoTime() - start) / 1_000_000);
+
+        return graph;
+    }
+
+    private static CsrGraph toCsrGraph(IntGraph graph) {
+        return toCsrGraph(graph, new BitSet());
+    }
+
+    /**
+     * Copies every vertex of {@code graph}, which is not {@code deleted}, also if it has no edges. The ids keep
+     * their order, so they only move down past the deleted vertices and the adjacency lists stay sorted.
+     */
+    private static CsrGraph toCsrGraph(IntGraph graph, BitSet deleted) {
+
+        int numberVertices = graph.vertexCount();
+        int[] ids = new int[numberVertices];
+        int liveVertices = 0;
+
+        for (int v = 0; v < numberVertices; v++) {
+            ids[v] = deleted.get(v) ? -1 : liveVertices++;
+        }
+
+        int[] offsets = new int[liveVertices + 1];
+        int[] labels = new int[liveVertices];
+
+        for (int v = 0; v < numberVertices; v++) {
+
+            if (ids[v] != -1) {
+
+                offsets[ids[v] + 1] = offsets[ids[v]] + graph.degree(v);
+                labels[ids[v]] = graph.labelOf(v);
+            }
+        }
+
+        int[] neighbours = new int[offsets[liveVertices]];
+
+        for (int v = 0; v < numberVertices; v++) {
+
+            if (ids[v] != -1) {
+
+                for (int i = 0; i < graph.degree(v); i++) {
+                    neighbours[offsets[ids[v]] + i] = ids[graph.neighbour(v, i)];
+                }
+            }
+        }
+
+        return new CsrGraph(offsets, neighbours, labels);
+    }
+
+    private void reset(CsrGraph graph) {
+
+        base = graph;
+        vertexCount = graph.vertexCount();
+        deletedCount = 0;
+        edgeCount = graph.edgeCount();
+        patched = new int[vertexCount][];
+        patchedSlots = 0;
+        addedLabels = new IntList();
+        addedIndex = new HashMap<>();
+        deleted = new BitSet();
+        current = graph;
+    }
+
+
+    /**
+     * @param graph the new version.
+     * @param applied the number of changes, which changed the graph.
+     * @param ignored the number of changes, which were ignored.
+     * @param compacted true, if the version is a compacted CSR graph.
+     */
+    public record Update(IntGraph graph, int applied, int ignored, boolean compacted) {
+    }
+}
@@ -0,0 +1,104 @@
+package graph.impl;
+
+import util.IntList;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * A batch of topology changes, given by the vertex labels of the graph file. The text format has one change
+ * per line:
+ * <pre>
+ * a &lt;u&gt; &lt;w&gt;   inserts the edge {u, w}, and u or w as a new vertex, if it doesn't exist
+ * d &lt;u&gt; &lt;w&gt;   deletes the edge {u, w}
+ * x &lt;v&gt;       deletes the vertex v with all of its edges
+ * </pre>
+ * Lines starting with {@code c} or {@code p} and blank lines are skipped, and a trailing edge length is ignored,
+ * so the arcs of a DIMACS file are a valid delta, which inserts them.
+ */
+public final class GraphDelta {
+
+    static final int ADD_EDGE = 0;
+    static final int DELETE_EDGE = 1;
+    static final int DELETE_VERTEX = 2;
+
+    private final IntList types = new IntList();
+    private final IntList firstLabels = new IntList();
+    private final IntList secondLabels = new IntList();
+
+
+    public void addEdge(int u, int w) {
+        add(ADD_EDGE, u, w);
+    }
+
+    public void deleteEdge(int u, int w) {
+        add(DELETE_EDGE, u, w);
+    }
+
+    public void deleteVertex(int v) {
+        add(DELETE_VERTEX, v, -1);
+    }
+
+    public int size() {
+        return types.size();
+    }
+
+
+    /**
+     * @throws IllegalArgumentException if a line is no change.
+     */
+    public static GraphDelta read(BufferedReader reader) throws IOException {
+
+        GraphDelta delta = new GraphDelta();
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+
+            line = line.strip();
+
+            if (line.isEmpty() || line.startsWith("c") || line.startsWith("p")) {
+                continue;
+            }
+
+            String[] fields = line.split("\\s+");
+
+            try {
+                switch (fields[0]) {
+                    case "a" -> delta.addEdge(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+                    case "d" -> delta.deleteEdge(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+                    case "x" -> delta.deleteVertex(Integer.parseInt(fields[1]));
+                    default -> throw new IllegalArgumentException("Unknown change: " + line);
+                }
+            } catch (ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Incomplete change: " + line);
+            }
+        }
+
+        return delta;
+    }
+
+
+    int type(int i) {
+        return types.get(i);
+    }
+
+    int firstLabel(int i) {
+        return firstLabels.get(i);
+    }
+
+    int secondLabel(int i) {
+        return secondLabels.get(i);
+    }
+
+
+    private void add(int type, int first, int second) {
+
+        if (first < 0 || (type != DELETE_VERTEX && second < 0)) {
+            throw new IllegalArgumentException("Vertex labels must not be negative");
+        }
+
+        types.add(type);
+        firstLabels.add(first);
+        secondLabels.add(second);
+    }
+}
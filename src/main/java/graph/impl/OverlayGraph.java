@@ -0,0 +1,139 @@
+package graph.impl;
+
+import graph.IntGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * An immutable version of a {@link DynamicGraph}: a CSR base graph, whose changed vertices have their own
+ * sorted adjacency arrays. The slots of a changed vertex follow the slots of the base graph.
+ * <p>
+ * New vertices get the ids after the base graph. A deleted vertex keeps its id, has no neighbours
+ * and cannot be found by its label, until the graph is compacted.
+ */
+final class OverlayGraph implements IntGraph {
+
+    private final CsrGraph base;
+    private final int[][] patched;
+    private final int[] slotStart;
+    private final int slotCount;
+    private final int liveVertexCount;
+    private final int edgeCount;
+    private final int[] addedLabels;
+    private final Map<Integer, Integer> addedIndex;
+    private final BitSet deleted;
+
+
+    /**
+     * The arrays are not copied and must not be modified afterwards.
+     *
+     * @param patched the adjacency of every changed vertex, null for the vertices of the base graph, which
+     *                have not changed. Its length is the number of vertices.
+     */
+    OverlayGraph(CsrGraph base,
+                 int[][] patched,
+                 int liveVertexCount,
+                 int edgeCount,
+                 int[] addedLabels,
+                 Map<Integer, Integer> addedIndex,
+                 BitSet deleted) {
+
+        this.base = base;
+        this.patched = patched;
+        this.liveVertexCount = liveVertexCount;
+        this.edgeCount = edgeCount;
+        this.addedLabels = addedLabels;
+        this.addedIndex = addedIndex;
+        this.deleted = deleted;
+        this.slotStart = new int[patched.length];
+
+        int slot = base.slotCount();
+
+        for (int v = 0; v < patched.length; v++) {
+
+            if (patched[v] != null) {
+                slotStart[v] = slot;
+                slot += patched[v].length;
+            }
+        }
+
+        this.slotCount = slot;
+    }
+
+
+    @Override
+    public int vertexCount() {
+        return patched.length;
+    }
+
+    @Override
+    public int liveVertexCount() {
+        return liveVertexCount;
+    }
+
+    @Override
+    public boolean isLive(int v) {
+        return !deleted.get(v);
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int degree(int v) {
+
+        int[] adjacency = patched[v];
+        return adjacency != null ? adjacency.length : base.degree(v);
+    }
+
+    @Override
+    public int neighbour(int v, int i) {
+
+        int[] adjacency = patched[v];
+        return adjacency != null ? adjacency[i] : base.neighbour(v, i);
+    }
+
+    @Override
+    public int slot(int v, int i) {
+        return patched[v] != null ? slotStart[v] + i : base.slot(v, i);
+    }
+
+    @Override
+    public int slotCount() {
+        return slotCount;
+    }
+
+    @Override
+    public int neighbourIndex(int v, int w) {
+
+        int[] adjacency = patched[v];
+
+        if (adjacency == null) {
+            return base.neighbourIndex(v, w);
+        }
+
+        int index = Arrays.binarySearch(adjacency, w);
+        return index >= 0 ? index : -1;
+    }
+
+    @Override
+    public int labelOf(int v) {
+        return v < base.vertexCount() ? base.labelOf(v) : addedLabels[v - base.vertexCount()];
+    }
+
+    @Override
+    public int indexOf(int label) {
+
+        int v = base.indexOf(label);
+
+        if (v == -1) {
+            v = addedIndex.getOrDefault(label, -1);
+        }
+
+        return v != -1 && deleted.get(v) ? -1 : v;
+    }
+}
@@ -1,15 +1,12 @@
 package graphloader;
 
 import exceptions.GraphReadingException;
-import org.jgrapht.Graph;
+import graph.IntGraph;
 
 /**
- * A component, which creates a JGraphT graph instance by a given input file.
- *
- * @param <V> the type of vertices to be loaded.
- * @param <E> the type of edges to be loaded.
+ * A component, which creates an {@link IntGraph} instance by a given input file.
  */
-public interface GraphLoader<V,E> {
+public interface GraphLoader {
 
     /**
      * Returns a newly created graph instance.
@@ -17,5 +14,5 @@ public interface GraphLoader<V,E> {
      * @return the created graph instance
      * @throws GraphReadingException if there is an error while reading the input file
      */
-    Graph<V, E> loadGraph() throws GraphReadingException;
+    IntGraph loadGraph() throws GraphReadingException;
 }
@@ -0,0 +1,205 @@
+package graphloader.impl;
+
+import exceptions.GraphReadingException;
+import graph.IntGraph;
+import graph.impl.CsrGraphBuilder;
+import graphloader.GraphLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * A component, which loads a simple undirected graph from the arcs ({@code a} lines) of a DIMACS file.
+ * The file is memory-mapped and split into chunks, which are scanned in parallel without creating strings.
+ * The adjacency is built with a parallel sort of the packed edges.
+ */
+public class MappedDimacsGraphLoader implements GraphLoader {
+
+    private static final Logger LOGGER = LogManager.getLogger(MappedDimacsGraphLoader.class);
+
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 1L << 28;
+    private static final int MAX_LINE_LENGTH = 4096;
+
+    private final String inputFilePath;
+
+
+    public MappedDimacsGraphLoader(String inputFilePath) {
+        this.inputFilePath = inputFilePath;
+    }
+
+
+    @Override
+    public IntGraph loadGraph() throws GraphReadingException {
+
+        LOGGER.debug("Generating graph from {}", inputFilePath);
+
+        long start = System.nanoTime();
+        long fileSize;
+        EdgeChunk[] chunks;
+
+        try (FileChannel channel = FileChannel.open(Path.of(inputFilePath), StandardOpenOption.READ)) {
+
+            fileSize = channel.size();
+
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            long chunkSize = Math.clamp(fileSize / (4L * parallelism) + 1, MIN_CHUNK_SIZE, MAX_CHUNK_SIZE);
+            int numberChunks = (int) ((fileSize + chunkSize - 1) / chunkSize);
+
+            chunks = IntStream.range(0, numberChunks)
+                .parallel()
+                .mapToObj(i -> scanChunk(channel, i * chunkSize, Math.min(fileSize, (i + 1) * chunkSize), fileSize))
+                .toArray(EdgeChunk[]::new);
+
+        } catch (IOException | UncheckedIOException e) {
+
+            LOGGER.fatal("Failure while reading the graph.");
+            throw new GraphReadingException(e.getMessage());
+        }
+
+        int numberEdges = Arrays.stream(chunks).mapToInt(chunk -> chunk.size).sum();
+        long[] edges = new long[numberEdges];
+
+        for (int i = 0, offset = 0; i < chunks.length; i++) {
+
+            System.arraycopy(chunks[i].edges, 0, edges, offset, chunks[i].size);
+            offset += chunks[i].size;
+        }
+
+        IntGraph outputGraph = CsrGraphBuilder.fromPackedEdgesParallel(edges, numberEdges);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double megabytes = fileSize / (1024.0 * 1024.0);
+
+        LOGGER.info("Graph with {} vertices and {} edges generated.", outputGraph.vertexCount(), outputGraph.edgeCount());
+        LOGGER.info("Loaded {} MB in {} ms ({} MB/s)",
+            String.format(Locale.ROOT, "%.1f", megabytes),
+            String.format(Locale.ROOT, "%.0f", seconds * 1000),
+            String.format(Locale.ROOT, "%.1f", megabytes / seconds));
+
+        return outputGraph;
+    }
+
+
+    /**
+     * Scans all lines, which begin in {@code [from, to)}, and collects their arcs.
+     * A line, which begins in the chunk, may end after {@code to}.
+     */
+    private static EdgeChunk scanChunk(FileChannel channel, long from, long to, long fileSize) {
+
+        long mapEnd = Math.min(fileSize, to + MAX_LINE_LENGTH);
+        MappedByteBuffer buffer;
+
+        // The byte before the chunk is needed to decide, whether the chunk begins with a new line.
+        long mapStart = from == 0 ? 0 : from - 1;
+
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int limit = (int) (to - mapStart);
+        int position = 0;
+
+        if (from != 0) {
+            position = skipLine(buffer, 0);
+        }
+
+        EdgeChunk chunk = new EdgeChunk((int) Math.min(Integer.MAX_VALUE - 8, (to - from) / 16 + 16));
+
+        while (position < limit) {
+
+            if (buffer.get(position) != 'a') {
+                position = skipLine(buffer, position);
+                continue;
+            }
+
+            // a <source> <target> <weight>
+            position = skipBlanks(buffer, position + 1);
+            int source = 0;
+
+            while (position < buffer.limit() && isDigit(buffer.get(position))) {
+                source = 10 * source + (buffer.get(position++) - '0');
+            }
+
+            position = skipBlanks(buffer, position);
+            int target = 0;
+
+            while (position < buffer.limit() && isDigit(buffer.get(position))) {
+                target = 10 * target + (buffer.get(position++) - '0');
+            }
+
+            if (source != target) {
+                chunk.add(CsrGraphBuilder.pack(source, target));
+            }
+
+            position = skipLine(buffer, position);
+        }
+
+        if (position > buffer.limit() && mapEnd != fileSize) {
+            // the last line is longer than the mapped margin behind the chunk
+            throw new UncheckedIOException(new IOException("A line exceeds " + MAX_LINE_LENGTH + " bytes"));
+        }
+
+        return chunk;
+    }
+
+    /**
+     * @return the position after the next line break, starting from {@code position},
+     * or {@code buffer.limit() + 1} if there is no line break.
+     */
+    private static int skipLine(MappedByteBuffer buffer, int position) {
+
+        while (position < buffer.limit() && buffer.get(position) != '\n') {
+            position++;
+        }
+
+        return position + 1;
+    }
+
+    private static int skipBlanks(MappedByteBuffer buffer, int position) {
+
+        while (position < buffer.limit() && (buffer.get(position) == ' ' || buffer.get(position) == '\t')) {
+            position++;
+        }
+
+        return position;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+
+    /**
+     * The packed edges of a single chunk.
+     */
+    private static final class EdgeChunk {
+
+        private long[] edges;
+        private int size;
+
+        private EdgeChunk(int capacity) {
+            this.edges = new long[capacity];
+        }
+
+        private void add(long edge) {
+
+            if (size == edges.length) {
+                edges = Arrays.copyOf(edges, 2 * size);
+            }
+
+            edges[size++] = edge;
+        }
+    }
+}
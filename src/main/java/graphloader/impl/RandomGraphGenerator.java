@@ -0,0 +1,212 @@
+package graphloader.impl;
+
+import graph.IntGraph;
+import graph.impl.CsrGraphBuilder;
+import graphloader.GraphLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import sampling.RandomStreams;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * A component, which generates the random graphs of {@code graph-gen.sh} in memory, instead of reading them.
+ * <p>
+ * A graph of the family G(n, m) with m = floor(c &middot; n &middot; ln n) is built like {@code sprand} builds it:
+ * a cycle through the vertices 1 .. n, which makes the graph connected, and m - n arcs between uniformly random
+ * vertices. The arcs are drawn in parallel blocks, each from its own stream of the seed, and the adjacency is
+ * built with a parallel sort, so no text is written or parsed. The graph of a seed is always the same, but it
+ * is not the graph, which {@code sprand} generates for this seed.
+ * <p>
+ * The sizes of {@code graph-gen.sh} are generated with its seeds and values of c. Every other size is
+ * generated with c = 1 and the size as seed.
+ */
+public class RandomGraphGenerator implements GraphLoader {
+
+    private static final Logger LOGGER = LogManager.getLogger(RandomGraphGenerator.class);
+
+    private static final int[] SIZES = {50, 100, 500, 1000, 5000, 10000, 50000, 100000, 200000, 300000};
+    private static final long[] SEEDS = {1234, 5678, 91011, 121314, 151617, 432423, 67574257, 8327625, 6682633, 3243253};
+    private static final double[] C_VALUES = {5, 5, 5, 5, 5, 1, 1, 1, 1, 1};
+
+    private static final int BLOCK_SIZE = 1 << 20;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final String NAME_PREFIX = "rand_";
+
+    private final int numberVertices;
+    private final long numberArcs;
+    private final long seed;
+
+
+    /**
+     * @param numberVertices n, at least 3.
+     * @param c the factor of n &middot; ln n in the number of arcs.
+     * @param seed the seed of the graph.
+     */
+    public RandomGraphGenerator(int numberVertices, double c, long seed) {
+
+        if (numberVertices < 3) {
+            throw new IllegalArgumentException("A random graph needs at least 3 vertices");
+        }
+
+        this.numberVertices = numberVertices;
+        this.numberArcs = Math.max(numberVertices, (long) (c * numberVertices * Math.log(numberVertices)));
+        this.seed = seed;
+
+        if (numberArcs > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("%d arcs do not fit into an array".formatted(numberArcs));
+        }
+    }
+
+
+    /**
+     * @param numberVertices n
+     * @return the generator of the graph {@code rand_<n>.gr} of {@code graph-gen.sh}.
+     */
+    public static RandomGraphGenerator forSize(int numberVertices) {
+
+        for (int i = 0; i < SIZES.length; i++) {
+
+            if (SIZES[i] == numberVertices) {
+                return new RandomGraphGenerator(numberVertices, C_VALUES[i], SEEDS[i]);
+            }
+        }
+
+        return new RandomGraphGenerator(numberVertices, 1, numberVertices);
+    }
+
+
+    /**
+     * @param name a graph name like {@code rand_1000000}, optionally with a {@code .gr} extension.
+     * @return the generator of this graph, or null if the name does not denote a random graph.
+     */
+    public static RandomGraphGenerator forName(String name) {
+
+        String size = name.endsWith(".gr") ? name.substring(0, name.length() - 3) : name;
+
+        if (!size.startsWith(NAME_PREFIX)) {
+            return null;
+        }
+
+        try {
+            return forSize(Integer.parseInt(size.substring(NAME_PREFIX.length())));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+
+    @Override
+    public IntGraph loadGraph() {
+
+        LOGGER.debug("Generating a random graph with n={}, m={} and seed={}", numberVertices, numberArcs, seed);
+
+        long start = System.nanoTime();
+        long[] edges = new long[(int) numberArcs];
+        int n = numberVertices;
+
+        // the cycle 1 - 2 - ... - n - 1
+        for (int v = 1; v <= n; v++) {
+            edges[v - 1] = CsrGraphBuilder.pack(v, v % n + 1);
+        }
+
+        RandomStreams streams = new RandomStreams(seed);
+        int randomArcs = (int) numberArcs - n;
+        int numberBlocks = (randomArcs + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        IntStream.range(0, numberBlocks).parallel().forEach(block -> {
+
+            SplittableRandom random = streams.child(block).random();
+            int end = n + Math.min(randomArcs, (block + 1) * BLOCK_SIZE);
+
+            for (int i = n + block * BLOCK_SIZE; i < end; i++) {
+
+                int u = 1 + random.nextInt(n);
+                int w = 1 + random.nextInt(n - 1);
+
+                // a uniformly random vertex other than u
+                edges[i] = CsrGraphBuilder.pack(u, w >= u ? w + 1 : w);
+            }
+        });
+
+        IntGraph graph = CsrGraphBuilder.fromPackedEdgesParallel(edges, edges.length);
+
+        LOGGER.info("Graph with {} vertices and {} edges generated in {} ms",
+            graph.vertexCount(), graph.edgeCount(), (System.nanoTime() - start) / 1_000_000);
+
+        return graph;
+    }
+
+
+    /**
+     * Writes a graph as a DIMACS file with one arc per edge and length 1, like the files of {@code graph-gen.sh}.
+     *
+     * @param graph the graph to write.
+     * @param file the file to write. An existing file is overwritten.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writeDimacs(IntGraph graph, Path file) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            StringBuilder line = new StringBuilder("p sp ")
+                .append(graph.vertexCount()).append(' ').append(graph.edgeCount()).append('\n');
+
+            for (int v = 0; v < graph.vertexCount(); v++) {
+
+                for (int i = 0; i < graph.degree(v); i++) {
+
+                    int w = graph.neighbour(v, i);
+
+                    if (v < w) {
+                        line.append("a ").append(graph.labelOf(v)).append(' ').append(graph.labelOf(w)).append(" 1\n");
+                    }
+                }
+
+                if (line.length() > BUFFER_SIZE / 4 || v == graph.vertexCount() - 1) {
+
+                    write(channel, buffer, line);
+                    line.setLength(0);
+                }
+            }
+
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+
+    private static void write(FileChannel channel, ByteBuffer buffer, CharSequence text) throws IOException {
+
+        byte[] bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+
+        if (buffer.remaining() < bytes.length) {
+
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            buffer.clear();
+        }
+
+        if (bytes.length > buffer.capacity()) {
+            channel.write(ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+    }
+}
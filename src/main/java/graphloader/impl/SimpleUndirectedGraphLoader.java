@@ -1,22 +1,21 @@
 package graphloader.impl;
 
 import exceptions.GraphReadingException;
+import graph.IntGraph;
+import graph.impl.CsrGraphBuilder;
 import graphloader.GraphLoader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jgrapht.Graph;
-import org.jgrapht.graph.DefaultWeightedEdge;
-import org.jgrapht.graph.builder.GraphTypeBuilder;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 
 /**
- *  A component, which loads a simple directed graph (without self-loops and parallel arcs)
- *  The edges of the loaded graph have weight.
+ *  A component, which loads a simple undirected graph (without self-loops and parallel edges)
+ *  from the arcs of a DIMACS file into a CSR graph.
  */
-public class SimpleUndirectedGraphLoader implements GraphLoader<Integer, DefaultWeightedEdge> {
+public class SimpleUndirectedGraphLoader implements GraphLoader {
 
     private static final Logger LOGGER = LogManager.getLogger(SimpleUndirectedGraphLoader.class);
     private final String inputFilePath;
@@ -26,24 +25,13 @@ public class SimpleUndirectedGraphLoader implements GraphLoader<Integer, Default
         this.inputFilePath = inputFilePath;
     }
 
-    private static Graph<Integer, DefaultWeightedEdge> buildEmptySimpleWeightedUndirectedGraph()
-    {
-        return GraphTypeBuilder
-            .<Integer, DefaultWeightedEdge> undirected()
-            .allowingMultipleEdges(false)
-            .allowingSelfLoops(false)
-            .edgeClass(DefaultWeightedEdge.class)
-            .weighted(true)
-            .buildGraph();
-    }
-
 
     @Override
-    public Graph<Integer, DefaultWeightedEdge> loadGraph() throws GraphReadingException {
+    public IntGraph loadGraph() throws GraphReadingException {
 
         LOGGER.debug("Generating graph from {}", inputFilePath);
 
-        Graph<Integer, DefaultWeightedEdge> outputGraph = buildEmptySimpleWeightedUndirectedGraph();
+        CsrGraphBuilder builder = new CsrGraphBuilder();
 
 
         try (BufferedReader bufferedReader = new BufferedReader(new FileReader(inputFilePath))) {
@@ -57,11 +45,7 @@ public class SimpleUndirectedGraphLoader implements GraphLoader<Integer, Default
                     int sourceVertex = Integer.parseInt(lineSplit[1]);
                     int targetVertex = Integer.parseInt(lineSplit[2]);
 
-                    outputGraph.addVertex(sourceVertex);
-                    outputGraph.addVertex(targetVertex);
-
-                    outputGraph.addEdge(sourceVertex, targetVertex);
-                    outputGraph.setEdgeWeight(sourceVertex, targetVertex, 1.0);
+                    builder.addEdge(sourceVertex, targetVertex);
                 });
 
         } catch (IOException e) {
@@ -70,8 +54,9 @@ public class SimpleUndirectedGraphLoader implements GraphLoader<Integer, Default
             throw new GraphReadingException(e.getMessage());
         }
 
+        IntGraph outputGraph = builder.build();
 
-        LOGGER.info("Graph with {} vertices and {} edges generated.", outputGraph.vertexSet().size(), outputGraph.edgeSet().size());
+        LOGGER.info("Graph with {} vertices and {} edges generated.", outputGraph.vertexCount(), outputGraph.edgeCount());
         return outputGraph;
     }
 }
@@ -0,0 +1,265 @@
+package graphloader.impl;
+
+import exceptions.GraphReadingException;
+import graph.IntGraph;
+import graph.impl.CsrGraph;
+import graphloader.GraphLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * A component, which caches a graph file as a binary snapshot next to it.
+ * The first time a graph is read, it is loaded by a delegate loader and written as a snapshot.
+ * Later, the snapshot is memory-mapped directly, as long as the graph file has not changed.
+ * <p>
+ * Snapshot layout (little endian):
+ * <pre>
+ * int  magic, int version,
+ * long graph file size, long graph file modification time, long graph file parsing time in ns,
+ * int  n, int length of the neighbours array, long CRC32C of the payload,
+ * int[n + 1] offsets, int[2m] neighbours, int[n] labels
+ * </pre>
+ */
+public class SnapshotGraphLoader implements GraphLoader {
+
+    private static final Logger LOGGER = LogManager.getLogger(SnapshotGraphLoader.class);
+
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+    private static final int MAGIC = 0x56445047;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 4 + 4 + 8;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+    private final Path inputFilePath;
+    private final Path snapshotPath;
+    private final GraphLoader delegate;
+
+
+    /**
+     * @param inputFilePath path to the graph file.
+     * @param delegate      the loader, which reads the graph file, if there is no current snapshot.
+     */
+    public SnapshotGraphLoader(String inputFilePath, GraphLoader delegate) {
+
+        this.inputFilePath = Path.of(inputFilePath);
+        this.snapshotPath = Path.of(inputFilePath + SNAPSHOT_EXTENSION);
+        this.delegate = delegate;
+    }
+
+
+    @Override
+    public IntGraph loadGraph() throws GraphReadingException {
+
+        long fileSize;
+        long lastModified;
+
+        try {
+            fileSize = Files.size(inputFilePath);
+            lastModified = Files.getLastModifiedTime(inputFilePath).toMillis();
+        } catch (IOException e) {
+
+            LOGGER.fatal("Failure while reading the graph.");
+            throw new GraphReadingException(e.getMessage());
+        }
+
+        if (Files.exists(snapshotPath)) {
+
+            try {
+                IntGraph graph = readSnapshot(fileSize, lastModified);
+
+                if (graph != null) {
+                    return graph;
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Snapshot {} cannot be read: {}", snapshotPath, e.getMessage());
+            }
+        }
+
+        long start = System.nanoTime();
+        IntGraph graph = delegate.loadGraph();
+        long parsingTime = System.nanoTime() - start;
+
+        if (!(graph instanceof CsrGraph csrGraph)) {
+
+            LOGGER.warn("Snapshots are only supported for CSR graphs");
+            return graph;
+        }
+
+        try {
+            writeSnapshot(csrGraph, fileSize, lastModified, parsingTime);
+            LOGGER.info("Snapshot written to {}", snapshotPath);
+        } catch (IOException e) {
+            LOGGER.warn("Snapshot {} cannot be written: {}", snapshotPath, e.getMessage());
+        }
+
+        return graph;
+    }
+
+
+    /**
+     * Reads the snapshot, if it is still current.
+     *
+     * @return the graph in the snapshot, or null if the snapshot is outdated or corrupt.
+     */
+    private IntGraph readSnapshot(long fileSize, long lastModified) throws IOException {
+
+        long start = System.nanoTime();
+
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+
+            if (channel.size() < HEADER_SIZE) {
+
+                LOGGER.warn("Snapshot {} is truncated", snapshotPath);
+                return null;
+            }
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+
+                LOGGER.warn("Snapshot {} has an unknown format", snapshotPath);
+                return null;
+            }
+
+            if (header.getLong() != fileSize || header.getLong() != lastModified) {
+
+                LOGGER.info("Snapshot {} is outdated", snapshotPath);
+                return null;
+            }
+
+            long parsingTime = header.getLong();
+            int numberVertices = header.getInt();
+            int numberSlots = header.getInt();
+            long checksum = header.getLong();
+
+            long expectedSize = HEADER_SIZE + 4L * (numberVertices + 1 + numberSlots + numberVertices);
+
+            if (channel.size() != expectedSize) {
+
+                LOGGER.warn("Snapshot {} is truncated", snapshotPath);
+                return null;
+            }
+
+            CRC32C crc = new CRC32C();
+            long position = HEADER_SIZE;
+
+            int[] offsets = readInts(channel, position, numberVertices + 1, crc);
+            position += 4L * offsets.length;
+            int[] neighbours = readInts(channel, position, numberSlots, crc);
+            position += 4L * neighbours.length;
+            int[] labels = readInts(channel, position, numberVertices, crc);
+
+            if (crc.getValue() != checksum) {
+
+                LOGGER.warn("Snapshot {} has a wrong checksum", snapshotPath);
+                return null;
+            }
+
+            IntGraph graph = new CsrGraph(offsets, neighbours, labels);
+            long loadingTime = System.nanoTime() - start;
+
+            LOGGER.info("Graph with {} vertices and {} edges loaded from snapshot {}.",
+                graph.vertexCount(), graph.edgeCount(), snapshotPath);
+            LOGGER.info("Snapshot loaded in {} ms, {} ms faster than parsing the graph file",
+                loadingTime / 1_000_000, (parsingTime - loadingTime) / 1_000_000);
+
+            return graph;
+        }
+    }
+
+    private void writeSnapshot(CsrGraph graph, long fileSize, long lastModified, long parsingTime) throws IOException {
+
+        CRC32C crc = new CRC32C();
+        Path temporaryPath = Path.of(snapshotPath + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporaryPath,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            channel.position(HEADER_SIZE);
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+            writeInts(channel, buffer, graph.offsets(), crc);
+            writeInts(channel, buffer, graph.neighbours(), crc);
+            writeInts(channel, buffer, graph.labels(), crc);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(fileSize)
+                .putLong(lastModified)
+                .putLong(parsingTime)
+                .putInt(graph.vertexCount())
+                .putInt(graph.neighbours().length)
+                .putLong(crc.getValue())
+                .flip();
+
+            channel.write(header, 0);
+        }
+
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads {@code count} ints by mapping the snapshot in segments and updates the checksum with their bytes.
+     */
+    private static int[] readInts(FileChannel channel, long position, int count, CRC32C crc) throws IOException {
+
+        int[] array = new int[count];
+        int read = 0;
+
+        while (read < count) {
+
+            int segmentInts = (int) Math.min(count - read, MAX_SEGMENT_SIZE / 4);
+            MappedByteBuffer segment =
+                channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * read, 4L * segmentInts);
+
+            crc.update(segment.duplicate());
+
+            IntBuffer ints = segment.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            ints.get(array, read, segmentInts);
+            read += segmentInts;
+        }
+
+        return array;
+    }
+
+    /**
+     * Writes all ints of {@code array} through {@code buffer} and updates the checksum with their bytes.
+     */
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] array, CRC32C crc) throws IOException {
+
+        int written = 0;
+
+        while (written < array.length) {
+
+            int chunkInts = Math.min(array.length - written, buffer.capacity() / 4);
+
+            buffer.clear();
+            buffer.asIntBuffer().put(array, written, chunkInts);
+            buffer.limit(4 * chunkInts);
+
+            crc.update(buffer.duplicate());
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            written += chunkInts;
+        }
+    }
+}
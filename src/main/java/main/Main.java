@@ -2,19 +2,82 @@ package main;
 
 import enums.ExecutionMode;
 import exceptions.ExecutionInterruptedException;
+import exceptions.GraphReadingException;
 import executor.Executor;
+import executor.impl.AttemptReplayExecutor;
+import executor.impl.BatchExecutor;
+import executor.impl.SolverServerExecutor;
 import executor.impl.VertexDisjointPathsExecutor;
+import graph.IntGraph;
+import graphloader.impl.RandomGraphGenerator;
+import graphloader.impl.SnapshotGraphLoader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import output.PathSink;
+import output.impl.BinaryPathReader;
+import output.impl.NdjsonPathSink;
+import sampling.RandomStreams;
+import util.IntList;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
 
 
 public class Main {
 
     private static final Logger LOGGER = LogManager.getLogger(Main.class);
 
+    private static final String SEED_OPTION = "--seed=";
+
     public static void main(String[] args) {
 
-        if (args.length < 3 || args.length > 4) {
+        Long seed = null;
+
+        // the seed option may be given anywhere
+        if (Arrays.stream(args).anyMatch(arg -> arg.startsWith(SEED_OPTION))) {
+
+            seed = Arrays.stream(args)
+                .filter(arg -> arg.startsWith(SEED_OPTION))
+                .map(arg -> Long.parseLong(arg.substring(SEED_OPTION.length())))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+
+            args = Arrays.stream(args).filter(arg -> !arg.startsWith(SEED_OPTION)).toArray(String[]::new);
+        }
+
+        if (args.length >= 3 && args[0].equalsIgnoreCase("server")) {
+            serve(args);
+            return;
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("decode")) {
+            decode(args[1]);
+            return;
+        }
+
+        if (args.length >= 3 && args.length <= 5 && args[0].equalsIgnoreCase("batch")) {
+            batch(args, seed != null ? seed : RandomStreams.unseeded().seed());
+            return;
+        }
+
+        if (args.length >= 3 && args.length <= 5 && args[0].equalsIgnoreCase("generate")) {
+            generate(args);
+            return;
+        }
+
+        if (args.length >= 6 && args.length <= 7 && args[0].equalsIgnoreCase("replay")) {
+            replay(args);
+            return;
+        }
+
+        if (args.length < 3 || args.length > 6) {
            LOGGER.error("Algorithm interrupted, because the number of arguments is {}", args.length);
            System.exit(-1);
         }
@@ -23,16 +86,26 @@ public class Main {
         int k = Integer.parseInt(args[1]);
         ExecutionMode mode = ExecutionMode.valueOf(ExecutionMode.class, args[2].toUpperCase());
         int iterations = 1;
+        int parallelAttempts = 1;
 
-        if (args.length == 4) {
+        if (args.length >= 4) {
             iterations = Integer.parseInt(args[3]);
         }
 
+        if (args.length >= 5) {
+            parallelAttempts = Integer.parseInt(args[4]);
+        }
+
+        String outputPath = args.length == 6 ? args[5] : null;
+
         Executor vdpExecutor = new VertexDisjointPathsExecutor(
                 inputPath,
                 k,
                 mode,
-                iterations
+                iterations,
+                parallelAttempts,
+                outputPath,
+                seed != null ? seed : RandomStreams.unseeded().seed()
         );
 
         try {
@@ -42,4 +115,138 @@ public class Main {
             System.exit(-1);
         }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Runs the resident solver: {@code server <port> <path-to-gr-file>...}
+     */
+    private static void serve(String[] args) {
+
+        Executor serverExecutor = new SolverServerExecutor(
+                Integer.parseInt(args[1]),
+                Arrays.asList(args).subList(2, args.length)
+        );
+
+        try {
+            serverExecutor.executeProcedure();
+        } catch (ExecutionInterruptedException e) {
+            LOGGER.error("Server interrupted: {}", e.getMessage());
+            System.exit(-1);
+        }
+    }
+
+
+    /**
+     * Solves many pair sets: {@code batch <path-to-gr-file> <pair-file> [<output-file>]} or
+     * {@code batch <path-to-gr-file> <number-sets> <number-pairs> [<output-file>]}
+     */
+    private static void batch(String[] args, long seed) {
+
+        Executor batchExecutor;
+
+        if (args[2].matches("\\d+") && !Files.exists(Path.of(args[2]))) {
+
+            if (args.length < 4) {
+                LOGGER.error("The number of pairs of the sampled sets is missing");
+                System.exit(-1);
+            }
+
+            batchExecutor = new BatchExecutor(args[1], Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                args.length == 5 ? args[4] : null, seed);
+
+        } else {
+            batchExecutor = new BatchExecutor(args[1], args[2], args.length >= 4 ? args[3] : null, seed);
+        }
+
+        try {
+            batchExecutor.executeProcedure();
+        } catch (ExecutionInterruptedException e) {
+            LOGGER.error("Batch interrupted: {}", e.getMessage());
+            System.exit(-1);
+        }
+    }
+
+
+    /**
+     * Replays one attempt of a run:
+     * {@code replay <path-to-gr-file> <number-pairs> <seed> <iteration> <attempt> [<repetitions>]}
+     */
+    private static void replay(String[] args) {
+
+        Executor replayExecutor = new AttemptReplayExecutor(
+                args[1],
+                Integer.parseInt(args[2]),
+                Long.parseLong(args[3]),
+                Integer.parseInt(args[4]),
+                Integer.parseInt(args[5]),
+                args.length == 7 ? Integer.parseInt(args[6]) : 1
+        );
+
+        try {
+            replayExecutor.executeProcedure();
+        } catch (ExecutionInterruptedException e) {
+            LOGGER.error("Replay interrupted: {}", e.getMessage());
+            System.exit(-1);
+        }
+    }
+
+
+    /**
+     * Generates a random graph and writes it as a DIMACS file together with its snapshot:
+     * {@code generate <n> <path-to-gr-file> [<c>] [<seed>]}. Without c and seed, the values of
+     * {@code graph-gen.sh} for n are used.
+     */
+    private static void generate(String[] args) {
+
+        int n = Integer.parseInt(args[1]);
+        String outputPath = args[2];
+
+        RandomGraphGenerator generator = args.length >= 4
+            ? new RandomGraphGenerator(n, Double.parseDouble(args[3]), args.length == 5 ? Long.parseLong(args[4]) : n)
+            : RandomGraphGenerator.forSize(n);
+
+        try {
+            IntGraph graph = generator.loadGraph();
+
+            Path path = Path.of(outputPath);
+
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            long start = System.nanoTime();
+            RandomGraphGenerator.writeDimacs(graph, path);
+            LOGGER.info("Graph written to {} in {} ms", outputPath, (System.nanoTime() - start) / 1_000_000);
+
+            // the snapshot makes the next execution on this file skip the parsing
+            new SnapshotGraphLoader(outputPath, () -> graph).loadGraph();
+
+        } catch (IOException | GraphReadingException e) {
+            LOGGER.error("Cannot write {}: {}", outputPath, e.getMessage());
+            System.exit(-1);
+        }
+    }
+
+
+    /**
+     * Prints the paths of a binary path file as NDJSON to the standard output: {@code decode <path-file>}
+     */
+    private static void decode(String pathFile) {
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+
+        try (BinaryPathReader reader = new BinaryPathReader(Path.of(pathFile));
+             PathSink sink = new NdjsonPathSink(out, IntUnaryOperator.identity())) {
+
+            IntList path;
+
+            while ((path = reader.next()) != null) {
+                sink.write(path);
+            }
+
+        } catch (IOException e) {
+            LOGGER.error("Cannot decode {}: {}", pathFile, e.getMessage());
+            System.exit(-1);
+        }
+    }
+}
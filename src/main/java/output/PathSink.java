@@ -0,0 +1,32 @@
+package output;
+
+import util.IntList;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A component, which streams the disjoint paths of a result to a file or a stream, one path at a time.
+ */
+public interface PathSink extends Closeable {
+
+    /**
+     * Writes the next path.
+     *
+     * @param path the vertices of the path, from its start to its end vertex.
+     * @throws IOException if the path cannot be written.
+     */
+    void write(IntList path) throws IOException;
+
+
+    /**
+     * @return the number of paths written so far.
+     */
+    long getPathCount();
+
+
+    /**
+     * @return the number of vertices of all paths written so far.
+     */
+    long getVertexCount();
+}
@@ -0,0 +1,128 @@
+package output.impl;
+
+import util.IntList;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the paths of a file, which was written by {@link BinaryPathSink}, one path at a time.
+ */
+public class BinaryPathReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+
+    /**
+     * @param file the file to read.
+     * @throws IOException if the file cannot be opened or is not a path file.
+     */
+    public BinaryPathReader(Path file) throws IOException {
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer.limit(0);
+
+        try {
+            if (!fill(5) || buffer.getInt() != BinaryPathSink.MAGIC) {
+                throw new IOException("%s is not a path file".formatted(file));
+            }
+
+            byte version = buffer.get();
+
+            if (version != BinaryPathSink.VERSION) {
+                throw new IOException("Unsupported version %d of path file %s".formatted(version, file));
+            }
+
+        } catch (IOException e) {
+
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * @return the vertex ids of the next path, or null if there are no more paths.
+     * @throws IOException if the file cannot be read or ends within a path.
+     */
+    public IntList next() throws IOException {
+
+        if (!fill(1)) {
+            return null;
+        }
+
+        int size = (int) getVarint();
+        IntList path = new IntList(size);
+        long id = 0;
+
+        for (int i = 0; i < size; i++) {
+
+            long delta = getVarint();
+            id += delta >>> 1 ^ -(delta & 1);
+            path.add((int) id);
+        }
+
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+
+    private long getVarint() throws IOException {
+
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+
+            if (!fill(1)) {
+                throw new EOFException("The path file ends within a path");
+            }
+
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint in the path file");
+    }
+
+    /**
+     * Reads from the channel, until at least {@code bytes} bytes are buffered.
+     *
+     * @return false, if the file ends before.
+     */
+    private boolean fill(int bytes) throws IOException {
+
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+
+        buffer.compact();
+
+        while (buffer.position() < bytes) {
+
+            if (channel.read(buffer) == -1) {
+
+                buffer.flip();
+                return false;
+            }
+        }
+
+        buffer.flip();
+        return true;
+    }
+}
@@ -0,0 +1,126 @@
+package output.impl;
+
+import output.PathSink;
+import util.IntList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A path sink, which writes the paths in a compact binary format through a {@link FileChannel}.
+ * <p>
+ * File layout:
+ * <pre>
+ * int magic, byte version,
+ * for every path: varint number of vertices, zigzag varint first vertex id,
+ *                 zigzag varint difference of every further vertex id to its predecessor
+ * </pre>
+ * Consecutive vertices of a path have close ids in many graph files, so most differences fit
+ * into one or two bytes. The file ends after the last path. It is read by {@link BinaryPathReader}.
+ */
+public class BinaryPathSink implements PathSink {
+
+    static final int MAGIC = 0x56445050;
+    static final byte VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_VARINT_SIZE = 10;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final IntUnaryOperator vertexId;
+
+    private long pathCount;
+    private long vertexCount;
+
+
+    /**
+     * @param file the file to write. An existing file is overwritten.
+     * @param vertexId maps a vertex of a path to the id, which is written, e.g. its label in the graph file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public BinaryPathSink(Path file, IntUnaryOperator vertexId) throws IOException {
+
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.vertexId = vertexId;
+
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+    }
+
+
+    @Override
+    public void write(IntList path) throws IOException {
+
+        ensureRemaining(MAX_VARINT_SIZE);
+        putVarint(path.size());
+
+        long previous = 0;
+
+        for (int i = 0; i < path.size(); i++) {
+
+            long id = vertexId.applyAsInt(path.get(i));
+
+            ensureRemaining(MAX_VARINT_SIZE);
+            putVarint((id - previous) << 1 ^ (id - previous) >> 63);
+
+            previous = id;
+        }
+
+        pathCount++;
+        vertexCount += path.size();
+    }
+
+    @Override
+    public long getPathCount() {
+        return pathCount;
+    }
+
+    @Override
+    public long getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        try (channel) {
+            drain();
+        }
+    }
+
+
+    private void putVarint(long value) {
+
+        while ((value & ~0x7FL) != 0) {
+
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
@@ -0,0 +1,81 @@
+package output.impl;
+
+import output.PathSink;
+import util.IntList;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A path sink, which writes one JSON object per path and line:
+ * <pre>
+ * {"pair":1,"start":17,"end":42,"path":[17,5,42]}
+ * </pre>
+ * The pairs are numbered from 1 in the order, in which they are written.
+ */
+public class NdjsonPathSink implements PathSink {
+
+    private final Writer writer;
+    private final IntUnaryOperator vertexId;
+    private final StringBuilder line = new StringBuilder();
+
+    private long pathCount;
+    private long vertexCount;
+
+
+    /**
+     * @param writer the writer to write to. It should be buffered, and it is closed together with this sink.
+     * @param vertexId maps a vertex of a path to the id, which is written, e.g. its label in the graph file.
+     */
+    public NdjsonPathSink(Writer writer, IntUnaryOperator vertexId) {
+
+        this.writer = writer;
+        this.vertexId = vertexId;
+    }
+
+
+    @Override
+    public void write(IntList path) throws IOException {
+
+        pathCount++;
+        vertexCount += path.size();
+
+        line.setLength(0);
+        line.append("{\"pair\":").append(pathCount);
+
+        if (!path.isEmpty()) {
+            line.append(",\"start\":").append(vertexId.applyAsInt(path.getFirst()))
+                .append(",\"end\":").append(vertexId.applyAsInt(path.getLast()));
+        }
+
+        line.append(",\"path\":[");
+
+        for (int i = 0; i < path.size(); i++) {
+
+            if (i > 0) {
+                line.append(',');
+            }
+
+            line.append(vertexId.applyAsInt(path.get(i)));
+        }
+
+        line.append("]}\n");
+        writer.append(line);
+    }
+
+    @Override
+    public long getPathCount() {
+        return pathCount;
+    }
+
+    @Override
+    public long getVertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
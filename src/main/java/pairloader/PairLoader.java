@@ -9,6 +9,9 @@ public interface PairLoader<V> {
 
     void generatePairs() throws MaximumNumberOfPairsExceededException;
 
+    /**
+     * Logs a summary of the generated pairs. The pairs themselves are part of the written paths.
+     */
     void printPairs();
 
     VertexPairs<V> getPairs();
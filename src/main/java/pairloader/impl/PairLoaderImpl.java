@@ -3,33 +3,38 @@ package pairloader.impl;
 import exceptions.MaximumNumberOfPairsExceededException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jgrapht.Graph;
-import org.jgrapht.graph.DefaultWeightedEdge;
+import graph.IntGraph;
 import pairloader.PairLoader;
 import util.VertexPairs;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 public class PairLoaderImpl implements PairLoader<Integer> {
 
-    private static final Random RANDOM = new Random();
     private static final Logger LOGGER = LogManager.getLogger(PairLoaderImpl.class);
 
-    private final Graph<Integer, DefaultWeightedEdge> graph;
+    private final IntGraph graph;
     private final double maxNumberPairs;
     private final VertexPairs<Integer> vertexPairs;
     private boolean generated;
     private final int numberPairs;
+    private final RandomGenerator random;
 
-    public PairLoaderImpl(Graph<Integer, DefaultWeightedEdge> graph, double alpha, int numberPairs) {
+    public PairLoaderImpl(IntGraph graph, double alpha, int numberPairs) {
+        this(graph, alpha, numberPairs, new SplittableRandom());
+    }
+
+    public PairLoaderImpl(IntGraph graph, double alpha, int numberPairs, RandomGenerator random) {
 
         this.graph = graph;
+        this.random = random;
         this.generated = false;
 
         this.numberPairs = numberPairs;
 
-        int n = graph.vertexSet().size();
-        int m = graph.edgeSet().size();
+        int n = graph.liveVertexCount();
+        int m = graph.edgeCount();
         double d = (double) (2 * m) / n;
 
         this.maxNumberPairs = alpha * n * Math.log(d) / Math.log(n);
@@ -53,15 +58,27 @@ public class PairLoaderImpl implements PairLoader<Integer> {
             throw new MaximumNumberOfPairsExceededException("number of pairs must not exceed " + maxNumberPairs);
         }
 
-        int n = graph.vertexSet().size();
+        int n = graph.vertexCount();
         int endpointsCapacity = 2 * numberPairs;
 
         Set<Integer> chosenEndpointsSet = HashSet.newHashSet(endpointsCapacity);
+        boolean checkedCandidates = false;
 
         while (vertexPairs.getSize() != numberPairs) {
 
-            int randomStartVertex = RANDOM.nextInt(n) + 1;
-            int randomEndVertex = RANDOM.nextInt(n) + 1;
+            int randomStartVertex = random.nextInt(n);
+            int randomEndVertex = random.nextInt(n);
+
+            // a changed graph has deleted and isolated vertices, which no path can leave
+            if (graph.degree(randomStartVertex) == 0 || graph.degree(randomEndVertex) == 0) {
+
+                if (!checkedCandidates) {
+                    checkCandidates(endpointsCapacity);
+                    checkedCandidates = true;
+                }
+
+                continue;
+            }
 
             boolean disjointVertices = !(randomStartVertex == randomEndVertex ||
                 chosenEndpointsSet.contains(randomStartVertex) ||
@@ -85,22 +102,41 @@ public class PairLoaderImpl implements PairLoader<Integer> {
 
 
 
+    /**
+     * @throws MaximumNumberOfPairsExceededException if fewer than {@code endpointsCapacity} vertices have neighbours.
+     */
+    private void checkCandidates(int endpointsCapacity) throws MaximumNumberOfPairsExceededException {
+
+        int candidates = 0;
+
+        for (int v = 0; v < graph.vertexCount(); v++) {
+
+            if (graph.degree(v) > 0) {
+                candidates++;
+            }
+        }
+
+        if (candidates < endpointsCapacity) {
+
+            String message = "%d endpoints are needed, but only %d vertices have neighbours"
+                .formatted(endpointsCapacity, candidates);
+            LOGGER.error(message);
+            throw new MaximumNumberOfPairsExceededException(message);
+        }
+    }
+
+
     @Override
     public void printPairs() {
 
-        LOGGER.trace("Printing pairs of start and end vertices");
-
         if (!generated) {
 
             LOGGER.error("Pairs not generated yet.");
             return;
         }
 
-
-        for (int i = 0; i < vertexPairs.getSize(); i++) {
-
-            LOGGER.info("Pair {}: ({}, {})", i + 1, vertexPairs.getStartVertices().get(i), vertexPairs.getEndVertices().get(i));
-        }
+        LOGGER.info("{} pairs of start and end vertices out of {} vertices",
+            vertexPairs.getSize(), graph.vertexCount());
     }
 
     @Override
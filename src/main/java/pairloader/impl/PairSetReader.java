@@ -0,0 +1,126 @@
+package pairloader.impl;
+
+import graph.IntGraph;
+import util.VertexPairs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A component, which reads pairs of start and end vertices given by their vertex ids in the graph file,
+ * one pair {@code <start> <end>} per line. Lines starting with {@code c} or {@code #} are comments.
+ */
+public class PairSetReader {
+
+    private final IntGraph graph;
+
+
+    public PairSetReader(IntGraph graph) {
+        this.graph = graph;
+    }
+
+
+    /**
+     * Reads one pair set. Blank lines are skipped.
+     *
+     * @throws IllegalArgumentException if a line is no pair, a vertex doesn't exist, a vertex is contained
+     * in two pairs or there are no pairs.
+     */
+    public VertexPairs<Integer> readSet(BufferedReader reader) throws IOException {
+
+        PairSet pairSet = new PairSet();
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            pairSet.add(line);
+        }
+
+        if (pairSet.pairs.getSize() == 0) {
+            throw new IllegalArgumentException("No pairs given");
+        }
+
+        return pairSet.pairs;
+    }
+
+
+    /**
+     * Reads many pair sets, which are separated by blank lines.
+     *
+     * @throws IllegalArgumentException if a line is no pair, a vertex doesn't exist or a vertex is
+     * contained in two pairs of the same set.
+     */
+    public List<VertexPairs<Integer>> readSets(BufferedReader reader) throws IOException {
+
+        List<VertexPairs<Integer>> pairSets = new ArrayList<>();
+        PairSet pairSet = new PairSet();
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+
+            if (line.isBlank()) {
+
+                if (pairSet.pairs.getSize() > 0) {
+                    pairSets.add(pairSet.pairs);
+                    pairSet = new PairSet();
+                }
+
+                continue;
+            }
+
+            pairSet.add(line);
+        }
+
+        if (pairSet.pairs.getSize() > 0) {
+            pairSets.add(pairSet.pairs);
+        }
+
+        return pairSets;
+    }
+
+
+    private int vertexOf(String label) {
+
+        int v = graph.indexOf(Integer.parseInt(label));
+
+        if (v == -1) {
+            throw new IllegalArgumentException("Unknown vertex " + label);
+        }
+
+        return v;
+    }
+
+
+    private final class PairSet {
+
+        private final VertexPairs<Integer> pairs = new VertexPairs<>();
+        private final Set<Integer> endpoints = new HashSet<>();
+
+        private void add(String line) {
+
+            line = line.strip();
+
+            if (line.isEmpty() || line.startsWith("c") || line.startsWith("#")) {
+                return;
+            }
+
+            String[] labels = line.split("\\s+");
+
+            if (labels.length != 2) {
+                throw new IllegalArgumentException("Expected a pair <start> <end>, got: " + line);
+            }
+
+            int start = vertexOf(labels[0]);
+            int end = vertexOf(labels[1]);
+
+            if (!endpoints.add(start) || !endpoints.add(end)) {
+                throw new IllegalArgumentException("The pairs are not disjoint: " + line);
+            }
+
+            pairs.addOneVertexPair(start, end);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package sampling;
+
+import java.util.SplittableRandom;
+
+/**
+ * A tree of independent random number streams, which are derived from one seed.
+ * <p>
+ * Every node of the tree is identified by its seed. The seed of a child is a hash of the seed of its parent
+ * and the index of the child, so a stream depends only on the path from the root to it, not on how many
+ * random numbers other streams have drawn or in which order they were created. The executor derives one
+ * node per iteration and per attempt; an attempt derives one stream per step, per retry and per pair. An
+ * attempt is thus replayed exactly from the seed of the run, the iteration and the attempt number.
+ */
+public final class RandomStreams {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+
+    /**
+     * @return a node with a random seed, for runs, which are not meant to be replayed.
+     */
+    public static RandomStreams unseeded() {
+        return new RandomStreams(new SplittableRandom().nextLong());
+    }
+
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * @param index the index of the child, e.g. the number of an attempt or a pair.
+     * @return the child with this index.
+     */
+    public RandomStreams child(long index) {
+        return new RandomStreams(mix(seed + GOLDEN_GAMMA * (index + 1)));
+    }
+
+    /**
+     * @param indices the indices of the path from this node to the child.
+     * @return the descendant at the end of this path.
+     */
+    public RandomStreams child(long... indices) {
+
+        RandomStreams node = this;
+
+        for (long index : indices) {
+            node = node.child(index);
+        }
+
+        return node;
+    }
+
+    /**
+     * @return a new generator of the stream of this node. Two calls return generators of the same stream.
+     */
+    public SplittableRandom random() {
+        return new SplittableRandom(seed);
+    }
+
+
+    /**
+     * The finalizer of SplitMix64, which spreads the bits of consecutive seeds.
+     */
+    private static long mix(long z) {
+
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,147 @@
+package sampling;
+
+import graph.SubgraphLabels;
+import util.IntList;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Draws the random vertex sets of an attempt directly into primitive arrays.
+ * <p>
+ * X1 is a Bernoulli sample, which skips over the vertices, which are not chosen, with geometrically
+ * distributed gaps, so its cost is proportional to |X1| random numbers instead of one per vertex.
+ * K is the prefix of a partial Fisher–Yates shuffle of X1. The Z1/Z2 split is a fair coin per vertex,
+ * which is taken from the bits of one random long per 64 vertices, and is computed in parallel over
+ * blocks of vertices, each with its own split of a {@link SplittableRandom}.
+ */
+public class VertexSampler {
+
+    private static final int BLOCK_SIZE = 1 << 16;
+
+
+    /**
+     * Chooses every vertex of {@code 0 .. numberVertices - 1} independently with the specified probability.
+     *
+     * @param numberVertices number of vertices to be chosen from.
+     * @param probability the probability, with which a vertex is chosen.
+     * @param random the random number generator.
+     * @return the chosen vertices in ascending order.
+     */
+    public int[] sampleBernoulli(int numberVertices, double probability, RandomGenerator random) {
+
+        if (probability >= 1.0) {
+            return IntStream.range(0, numberVertices).toArray();
+        }
+
+        IntList sample = new IntList((int) (numberVertices * probability * 1.1) + 16);
+
+        if (probability <= 0.0) {
+            return sample.toArray();
+        }
+
+        double logComplement = Math.log1p(-probability);
+        long v = -1;
+
+        while (true) {
+
+            // 1 - nextDouble() lies in (0, 1], so the logarithm is finite
+            v += 1 + (long) (Math.log(1.0 - random.nextDouble()) / logComplement);
+
+            if (v >= numberVertices) {
+                break;
+            }
+
+            sample.add((int) v);
+        }
+
+        return sample.toArray();
+    }
+
+
+    /**
+     * Chooses uniformly {@code size} distinct elements of {@code population}.
+     * <p>
+     * The chosen elements are swapped to the front of {@code population}, so its order is changed.
+     *
+     * @param population the elements to be chosen from.
+     * @param size the number of chosen elements.
+     * @param random the random number generator.
+     * @return the chosen elements.
+     * @throws IllegalArgumentException if {@code size} is bigger than the population.
+     */
+    public int[] sampleWithoutReplacement(int[] population, int size, RandomGenerator random) {
+
+        if (size > population.length) {
+            throw new IllegalArgumentException(
+                "Cannot choose %d of %d elements".formatted(size, population.length));
+        }
+
+        int[] sample = new int[size];
+
+        for (int i = 0; i < size; i++) {
+
+            int j = i + random.nextInt(population.length - i);
+
+            int chosen = population[j];
+            population[j] = population[i];
+            population[i] = chosen;
+
+            sample[i] = chosen;
+        }
+
+        return sample;
+    }
+
+
+    /**
+     * Gives every vertex with label {@code unassignedLabel} either {@code firstLabel} or {@code secondLabel},
+     * each with probability 1/2.
+     *
+     * @param labels the labels of the vertices.
+     * @param unassignedLabel the label of the vertices to be split.
+     * @param firstLabel the first label.
+     * @param secondLabel the second label.
+     * @param random the random number generator, which is split once per block of vertices.
+     */
+    public void splitEvenly(SubgraphLabels labels,
+                            int unassignedLabel,
+                            int firstLabel,
+                            int secondLabel,
+                            SplittableRandom random) {
+
+        int numberVertices = labels.size();
+        int numberBlocks = (numberVertices + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        // the generators are split sequentially, so the split doesn't depend on the scheduling of the blocks
+        SplittableRandom[] blockRandoms = new SplittableRandom[numberBlocks];
+
+        for (int block = 0; block < numberBlocks; block++) {
+            blockRandoms[block] = random.split();
+        }
+
+        IntStream.range(0, numberBlocks)
+            .parallel()
+            .forEach(block -> {
+
+                SplittableRandom blockRandom = blockRandoms[block];
+                int from = block * BLOCK_SIZE;
+                int to = Math.min(from + BLOCK_SIZE, numberVertices);
+                long bits = 0;
+
+                for (int v = from; v < to; v++) {
+
+                    if (((v - from) & 63) == 0) {
+                        bits = blockRandom.nextLong();
+                    }
+
+                    if (labels.is(v, unassignedLabel)) {
+                        labels.set(v, (bits & 1) == 0 ? firstLabel : secondLabel);
+                    }
+
+                    bits >>>= 1;
+                }
+            });
+    }
+}
@@ -0,0 +1,224 @@
+package search;
+
+import enums.SearchStatus;
+import graph.IntGraph;
+import graph.SubgraphLabels;
+import util.IntList;
+
+import java.util.Arrays;
+
+/**
+ * A bidirectional breadth-first search for shortest paths in unweighted graphs.
+ * <p>
+ * The search keeps its visited marks, distances and parents in int arrays over all vertices, which are
+ * reused between searches. A vertex counts as visited only if its stamp equals the epoch of the current
+ * search, so a new search never clears the arrays and costs only what it explores.
+ */
+public class BidirectionalBfs {
+
+    private final IntGraph graph;
+
+    private final int[] forwardStamp;
+    private final int[] backwardStamp;
+    private final int[] distance;
+    private final int[] parent;
+    private final int[] forwardQueue;
+    private final int[] backwardQueue;
+    private int epoch;
+
+    private int meetingForward;
+    private int meetingBackward;
+    private int queueTail;
+
+
+    public BidirectionalBfs(IntGraph graph) {
+
+        int numberVertices = graph.vertexCount();
+
+        this.graph = graph;
+        this.forwardStamp = new int[numberVertices];
+        this.backwardStamp = new int[numberVertices];
+        this.distance = new int[numberVertices];
+        this.parent = new int[numberVertices];
+        this.forwardQueue = new int[numberVertices];
+        this.backwardQueue = new int[numberVertices];
+    }
+
+
+    /**
+     * Searches a shortest path between {@code start} and {@code end} inside the subgraph of all
+     * vertices with label {@code subgraphLabel}. If it is found, it can be read with {@link #copyPath(IntList)}.
+     *
+     * @param labels        the labels of all vertices.
+     * @param subgraphLabel the label of the subgraph, which the path must stay in.
+     * @param start         a vertex of the subgraph.
+     * @param end           a vertex of the subgraph.
+     * @return {@link SearchStatus#FOUND}, or {@link SearchStatus#UNREACHABLE} if there is no path.
+     */
+    public SearchStatus search(SubgraphLabels labels, int subgraphLabel, int start, int end) {
+        return search(labels, subgraphLabel, true, start, end);
+    }
+
+    /**
+     * Searches a shortest path between {@code start} and {@code end} through the vertices, which don't have
+     * label {@code blockedLabel}. The start and end vertex may have it.
+     *
+     * @param labels       the labels of all vertices.
+     * @param blockedLabel the label of the vertices, which the path must not pass.
+     * @param start        the start vertex.
+     * @param end          the end vertex.
+     * @return {@link SearchStatus#FOUND}, or {@link SearchStatus#UNREACHABLE} if there is no path.
+     */
+    public SearchStatus searchAvoiding(SubgraphLabels labels, int blockedLabel, int start, int end) {
+        return search(labels, blockedLabel, false, start, end);
+    }
+
+    /**
+     * @param inside true, if the path stays in the vertices with {@code label}, false, if it avoids them.
+     */
+    private SearchStatus search(SubgraphLabels labels, int label, boolean inside, int start, int end) {
+
+        nextEpoch();
+
+        forwardStamp[start] = epoch;
+        distance[start] = 0;
+        parent[start] = -1;
+
+        if (start == end) {
+
+            meetingForward = start;
+            meetingBackward = -1;
+            return SearchStatus.FOUND;
+        }
+
+        backwardStamp[end] = epoch;
+        distance[end] = 0;
+        parent[end] = -1;
+
+        forwardQueue[0] = start;
+        backwardQueue[0] = end;
+
+        int forwardHead = 0;
+        int forwardTail = 1;
+        int backwardHead = 0;
+        int backwardTail = 1;
+
+        while (forwardHead < forwardTail && backwardHead < backwardTail) {
+
+            boolean found;
+
+            // expand the smaller frontier by one full level
+            if (forwardTail - forwardHead <= backwardTail - backwardHead) {
+
+                int levelEnd = forwardTail;
+                found = expandLevel(labels, label, inside, forwardQueue, forwardHead, levelEnd, forwardStamp, backwardStamp, true);
+                forwardTail = queueTail;
+                forwardHead = levelEnd;
+
+            } else {
+
+                int levelEnd = backwardTail;
+                found = expandLevel(labels, label, inside, backwardQueue, backwardHead, levelEnd, backwardStamp, forwardStamp, false);
+                backwardTail = queueTail;
+                backwardHead = levelEnd;
+            }
+
+            if (found) {
+                return SearchStatus.FOUND;
+            }
+        }
+
+        return SearchStatus.UNREACHABLE;
+    }
+
+    /**
+     * Appends the vertices of the last found path, from the start to the end vertex, to {@code path}.
+     *
+     * @param path the list, which the path is appended to.
+     */
+    public void copyPath(IntList path) {
+
+        int begin = path.size();
+
+        for (int v = meetingForward; v != -1; v = parent[v]) {
+            path.add(v);
+        }
+
+        for (int i = begin, j = path.size() - 1; i < j; i++, j--) {
+
+            int v = path.get(i);
+            path.set(i, path.get(j));
+            path.set(j, v);
+        }
+
+        for (int v = meetingBackward; v != -1; v = parent[v]) {
+            path.add(v);
+        }
+    }
+
+
+    /**
+     * Expands all vertices of {@code queue[head .. levelEnd)} and appends the next level to the queue.
+     * The new queue tail is left in {@link #queueTail}. When the other search is met, the whole level is still
+     * expanded, so that the shortest of all meeting edges is chosen.
+     *
+     * @return true, if the other search has been met.
+     */
+    private boolean expandLevel(SubgraphLabels labels,
+                                int label,
+                                boolean inside,
+                                int[] queue,
+                                int head,
+                                int levelEnd,
+                                int[] ownStamp,
+                                int[] otherStamp,
+                                boolean forward) {
+
+        queueTail = levelEnd;
+        int bestLength = Integer.MAX_VALUE;
+
+        for (int i = head; i < levelEnd; i++) {
+
+            int v = queue[i];
+
+            for (int j = 0; j < graph.degree(v); j++) {
+
+                int w = graph.neighbour(v, j);
+
+                if (otherStamp[w] == epoch) {
+
+                    int length = distance[v] + 1 + distance[w];
+
+                    if (length < bestLength) {
+
+                        bestLength = length;
+                        meetingForward = forward ? v : w;
+                        meetingBackward = forward ? w : v;
+                    }
+                    continue;
+                }
+
+                if (ownStamp[w] == epoch || labels.is(w, label) != inside) {
+                    continue;
+                }
+
+                ownStamp[w] = epoch;
+                distance[w] = distance[v] + 1;
+                parent[w] = v;
+                queue[queueTail++] = w;
+            }
+        }
+
+        return bestLength != Integer.MAX_VALUE;
+    }
+
+    private void nextEpoch() {
+
+        if (++epoch == Integer.MAX_VALUE) {
+
+            Arrays.fill(forwardStamp, 0);
+            Arrays.fill(backwardStamp, 0);
+            epoch = 1;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A growable list of primitive ints.
+ */
+public class IntList {
+
+    private int[] elements;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        this.elements = new int[Math.max(capacity, 1)];
+    }
+
+
+    public void add(int element) {
+
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * size);
+        }
+
+        elements[size++] = element;
+    }
+
+    public void addAll(IntList other) {
+
+        if (size + other.size > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(2 * elements.length, size + other.size));
+        }
+
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+        size += other.size;
+    }
+
+    public int get(int index) {
+        return elements[index];
+    }
+
+    public void set(int index, int element) {
+        elements[index] = element;
+    }
+
+    public int getFirst() {
+        return elements[0];
+    }
+
+    public int getLast() {
+        return elements[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements from index {@code newSize} on.
+     */
+    public void truncate(int newSize) {
+        size = newSize;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Reverses the order of the elements in place.
+     */
+    public void reverse() {
+
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+
+            int element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+        }
+    }
+
+    public void forEach(IntConsumer action) {
+
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder res = new StringBuilder("[");
+
+        for (int i = 0; i < size; i++) {
+            res.append(i > 0 ? ", " : "").append(elements[i]);
+        }
+
+        return res.append(']').toString();
+    }
+}
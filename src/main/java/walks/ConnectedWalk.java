@@ -6,13 +6,13 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.List;
 
-public class ConnectedWalk<V> extends Walk<V>{
+public class ConnectedWalk extends Walk {
 
     private static final Logger LOGGER = LogManager.getLogger(ConnectedWalk.class);
 
-    private final List<Walk<V>> walks;
+    private final List<Walk> walks;
 
-    public ConnectedWalk(List<Walk<V>> walks) {
+    public ConnectedWalk(List<Walk> walks) {
         super();
         this.walks = walks;
     }
@@ -27,7 +27,7 @@ public class ConnectedWalk<V> extends Walk<V>{
 
         assert walks.size() == 5;
 
-        for (Walk<V> walk : walks) {
+        for (Walk walk : walks) {
 
             this.path.addAll(walk.getPath());
         }
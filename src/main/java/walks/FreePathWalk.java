@@ -0,0 +1,51 @@
+package walks;
+
+import enums.FailureReason;
+import enums.SearchStatus;
+import exceptions.AlgorithmInterruptedException;
+import graph.SubgraphLabels;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import search.BidirectionalBfs;
+
+/**
+ * The shortest path between two vertices through the free vertices, i.e. all vertices, which are not
+ * labelled {@link SubgraphLabels#CONSUMED}. It routes a new pair past the paths of a kept solution.
+ */
+public class FreePathWalk extends Walk {
+
+    private static final Logger LOGGER = LogManager.getLogger(FreePathWalk.class);
+    private final BidirectionalBfs search;
+    private final SubgraphLabels labels;
+    private final int endVertex;
+
+    public FreePathWalk(BidirectionalBfs search,
+                        SubgraphLabels labels,
+                        int startVertex,
+                        int endVertex) {
+
+        super(startVertex);
+        this.search = search;
+        this.labels = labels;
+        this.endVertex = endVertex;
+    }
+
+
+    /**
+     * @throws AlgorithmInterruptedException if the consumed vertices separate the start and the end vertex.
+     */
+    @Override
+    public void generateWalk() throws AlgorithmInterruptedException {
+
+        LOGGER.debug("Generating the free path between {} and {}", startVertex, endVertex);
+
+        if (search.searchAvoiding(labels, SubgraphLabels.CONSUMED, startVertex, endVertex) == SearchStatus.UNREACHABLE) {
+
+            String message = "There is no free path between %s and %s".formatted(startVertex, endVertex);
+            LOGGER.debug(message);
+            throw new AlgorithmInterruptedException(FailureReason.SHORTEST_PATH_UNREACHABLE, message);
+        }
+
+        search.copyPath(path);
+    }
+}
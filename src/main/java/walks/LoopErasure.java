@@ -0,0 +1,71 @@
+package walks;
+
+import util.IntList;
+
+import java.util.Arrays;
+
+/**
+ * A reusable workspace for the loop-erasure of walks over dense vertex ids.
+ * <p>
+ * The path is scanned once and compacted in place. For every vertex in the erased prefix, its
+ * position is kept in an int array, which is only valid, if the stamp of the vertex equals the epoch
+ * of the current erasure. When a vertex is met again, the prefix is cut back to its first position,
+ * which removes the cycle in between. The result equals the repeated removal of the first cycle.
+ */
+public class LoopErasure {
+
+    private final int[] stamp;
+    private final int[] position;
+    private int epoch;
+
+
+    /**
+     * @param numberVertices the number of vertices of the graph, which the walks run in.
+     */
+    public LoopErasure(int numberVertices) {
+
+        this.stamp = new int[numberVertices];
+        this.position = new int[numberVertices];
+    }
+
+
+    /**
+     * Removes all cycles from {@code path} in O(length of the path).
+     *
+     * @param path the path to be made cycle free.
+     */
+    public void erase(IntList path) {
+
+        nextEpoch();
+
+        int top = 0;
+
+        for (int i = 0; i < path.size(); i++) {
+
+            int v = path.get(i);
+            int p = position[v];
+
+            // v is still in the erased prefix, if its stamp is current and its position was not cut off
+            if (stamp[v] == epoch && p < top && path.get(p) == v) {
+
+                top = p + 1;
+                continue;
+            }
+
+            path.set(top, v);
+            stamp[v] = epoch;
+            position[v] = top++;
+        }
+
+        path.truncate(top);
+    }
+
+    private void nextEpoch() {
+
+        if (++epoch == Integer.MAX_VALUE) {
+
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+}
@@ -1,39 +1,25 @@
 package walks;
 
 
+import flow.SplitGraphView;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jgrapht.Graph;
-import org.jgrapht.Graphs;
-import org.jgrapht.graph.DefaultWeightedEdge;
 
-import java.util.Map;
-import java.util.Set;
+/**
+ * A walk along the flow in the split graph X, from a start vertex to a vertex in K.
+ */
+public class NetworkFlowWalk extends Walk {
 
-public class NetworkFlowWalk extends Walk<Integer> {
-
-    private static Map<DefaultWeightedEdge, Double> flowMap = null;
     private static final Logger LOGGER = LogManager.getLogger(NetworkFlowWalk.class);
 
-
-    public static void setFlowMap(Map<DefaultWeightedEdge, Double> flowMap) {
-
-        NetworkFlowWalk.flowMap = flowMap;
-    }
-
-    private final Integer networkSource;
-    private final Integer networkSink;
+    private final SplitGraphView flow;
 
 
-    public NetworkFlowWalk(Graph<Integer, DefaultWeightedEdge> graph,
-                           Integer startVertex,
-                           Integer networkSource,
-                           Integer networkSink) {
+    public NetworkFlowWalk(SplitGraphView flow, int startVertex) {
 
-        super(graph, startVertex);
+        super(startVertex);
 
-        this.networkSource = networkSource;
-        this.networkSink = networkSink;
+        this.flow = flow;
     }
 
 
@@ -43,40 +29,14 @@ public class NetworkFlowWalk extends Walk<Integer> {
 
         LOGGER.debug("Generating a vertex disjoint path from {} to a random vertex in K", startVertex);
 
-        Integer currentVertex = startVertex;
-
-        while (!flowMap.containsKey(graph.getEdge(currentVertex, networkSink))) {
-
-            // if current vertex = vertex_in, add to path and just go directly to vertex_out
-            if (currentVertex >= 0) {
-                path.add(currentVertex);
-
-                assert (flowMap.get(graph.getEdge(currentVertex, -currentVertex)).equals(1.0));
-
-                currentVertex = -currentVertex;
-                continue;
-            }
-
-
-            Set<DefaultWeightedEdge> outgoingEdgesOfCurrVertex = graph.outgoingEdgesOf(currentVertex);
-
-            for (DefaultWeightedEdge edge : outgoingEdgesOfCurrVertex) {
-
-                double flow = flowMap.get(edge);
-
-                boolean isNotSourceOrSink = !(graph.getEdgeTarget(edge).equals(networkSource) ||
-                    graph.getEdgeTarget(edge).equals(networkSink));
-                boolean isExistentFlow = flow > 0.0;
-
-                if (isNotSourceOrSink && isExistentFlow) {
+        int currentVertex = startVertex;
 
-                    currentVertex = Graphs.getOppositeVertex(graph, edge, currentVertex);
+        while (currentVertex != SplitGraphView.SINK) {
 
-                    flowMap.put(edge, 0.0);
-                    break;
-                }
+            assert currentVertex != SplitGraphView.NO_FLOW;
 
-            }
+            path.add(currentVertex);
+            currentVertex = flow.flowSuccessor(currentVertex);
         }
 
         LOGGER.debug("Generated a vertex disjoint path from {} to {}", startVertex, path.getLast());
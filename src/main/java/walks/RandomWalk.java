@@ -1,29 +1,46 @@
 package walks;
 
+import graph.IntGraph;
+import graph.SubgraphLabels;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jgrapht.Graph;
-import org.jgrapht.Graphs;
-import org.jgrapht.graph.DefaultWeightedEdge;
 
-import java.util.*;
+import java.util.random.RandomGenerator;
 
 
 /**
  * The random walk algorithm (see S4 from the algorithm) is basically a Markov chain.
  * There is a transition matrix, which contains the probabilities of a transition between two nodes
  * in a given graph.
+ * <p>
+ * The walk stays in the subgraph of all vertices with one label. Every step chooses a uniformly
+ * random neighbour within the subgraph with {@link #randomNeighbour}.
  */
-public class RandomWalk<V> extends Walk<V> {
+public class RandomWalk extends Walk {
 
     private static final Logger LOGGER = LogManager.getLogger(RandomWalk.class);
+    private static final int MAX_REJECTED_DRAWS = 8;
+
+    private final IntGraph graph;
+    private final SubgraphLabels labels;
+    private final int subgraphLabel;
     private final int length;
+    private final RandomGenerator random;
 
 
-    public RandomWalk(Graph<V, DefaultWeightedEdge> graph, V startVertex, int length) {
+    public RandomWalk(IntGraph graph,
+                      SubgraphLabels labels,
+                      int subgraphLabel,
+                      int startVertex,
+                      int length,
+                      RandomGenerator random) {
 
-        super(graph, startVertex);
+        super(startVertex);
+        this.graph = graph;
+        this.labels = labels;
+        this.subgraphLabel = subgraphLabel;
         this.length = length;
+        this.random = random;
     }
 
 
@@ -33,33 +50,73 @@ public class RandomWalk<V> extends Walk<V> {
 
         LOGGER.debug("Generating a random walk beginning from {}", startVertex);
 
-        V currentVertex = startVertex;
-        V previousVertex;
+        int currentVertex = startVertex;
 
         path.add(currentVertex);
 
 
         for (int i = 0; i < length - 1; i++) {
 
-            previousVertex = currentVertex;
+            currentVertex = randomNeighbour(graph, labels, subgraphLabel, currentVertex, random);
+
+            if (currentVertex == -1) {
+                return;
+            }
+
+            path.add(currentVertex);
+        }
+    }
 
-            List<V> neighbours = Graphs.neighborListOf(graph, currentVertex);
-            double probability = 1.0f / graph.degreeOf(currentVertex);
+    /**
+     * Chooses a uniformly random neighbour of {@code v} among the vertices with label {@code subgraphLabel}.
+     * A neighbour is drawn with a single random index into the adjacency of {@code v} and accepted if it has
+     * the label. Only if several draws in a row are rejected, the neighbours with the label are counted
+     * and one of them is chosen.
+     *
+     * @return the chosen neighbour, or -1 if {@code v} has no neighbours with the label.
+     */
+    public static int randomNeighbour(IntGraph graph,
+                                      SubgraphLabels labels,
+                                      int subgraphLabel,
+                                      int v,
+                                      RandomGenerator random) {
+
+        int degree = graph.degree(v);
+
+        if (degree == 0) {
+            return -1;
+        }
 
-            for (int j = 0; j < neighbours.size(); j++) {
+        for (int draw = 0; draw < MAX_REJECTED_DRAWS; draw++) {
 
-                if (Math.random() <= probability || j == neighbours.size() - 1) {
+            int neighbour = graph.neighbour(v, random.nextInt(degree));
 
-                    currentVertex = neighbours.get(j);
-                    break;
-                }
+            if (labels.is(neighbour, subgraphLabel)) {
+                return neighbour;
             }
+        }
 
-            if (currentVertex == previousVertex) {
-                return;
+        int numberNeighbours = 0;
+
+        for (int i = 0; i < degree; i++) {
+            if (labels.is(graph.neighbour(v, i), subgraphLabel)) {
+                numberNeighbours++;
             }
+        }
 
-            path.add(currentVertex);
+        if (numberNeighbours == 0) {
+            return -1;
+        }
+
+        int chosen = random.nextInt(numberNeighbours);
+
+        for (int i = 0; ; i++) {
+
+            int neighbour = graph.neighbour(v, i);
+
+            if (labels.is(neighbour, subgraphLabel) && chosen-- == 0) {
+                return neighbour;
+            }
         }
     }
 }
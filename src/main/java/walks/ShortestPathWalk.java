@@ -1,43 +1,54 @@
 package walks;
 
+import enums.FailureReason;
+import enums.SearchStatus;
 import exceptions.AlgorithmInterruptedException;
+import graph.SubgraphLabels;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jgrapht.Graph;
-import org.jgrapht.alg.shortestpath.BidirectionalDijkstraShortestPath;
-import org.jgrapht.graph.DefaultWeightedEdge;
+import search.BidirectionalBfs;
 
-public class ShortestPathWalk<V> extends Walk<V> {
+public class ShortestPathWalk extends Walk {
 
     private static final Logger LOGGER = LogManager.getLogger(ShortestPathWalk.class);
-    private final V endVertex;
-
-    public ShortestPathWalk(Graph<V, DefaultWeightedEdge> graph, V startVertex, V endVertex) {
-
-        super(graph, startVertex);
+    private final BidirectionalBfs search;
+    private final SubgraphLabels labels;
+    private final int subgraphLabel;
+    private final int endVertex;
+
+    public ShortestPathWalk(BidirectionalBfs search,
+                            SubgraphLabels labels,
+                            int subgraphLabel,
+                            int startVertex,
+                            int endVertex) {
+
+        super(startVertex);
+        this.search = search;
+        this.labels = labels;
+        this.subgraphLabel = subgraphLabel;
         this.endVertex = endVertex;
 
     }
 
 
+    /**
+     * Generates the shortest path with a bidirectional breadth-first search, since all edges have the same weight.
+     *
+     * @throws AlgorithmInterruptedException if there is no path between the start and the end vertex.
+     */
     @Override
     public void generateWalk() throws AlgorithmInterruptedException {
 
         LOGGER.debug("Generating the shortest path between {} and {}", startVertex, endVertex);
 
-        BidirectionalDijkstraShortestPath<V, DefaultWeightedEdge> dijkstra =
-            new BidirectionalDijkstraShortestPath<>(graph);
-
-        try {
-            this.path = dijkstra
-                .getPath(startVertex, endVertex)
-                .getVertexList();
-        } catch (NullPointerException e) {
+        if (search.search(labels, subgraphLabel, startVertex, endVertex) == SearchStatus.UNREACHABLE) {
 
             String message =
                     "There is no path between %s and %s".formatted(startVertex, endVertex);
             LOGGER.error(message);
-            throw new AlgorithmInterruptedException(message);
+            throw new AlgorithmInterruptedException(FailureReason.SHORTEST_PATH_UNREACHABLE, message);
         }
+
+        search.copyPath(path);
     }
 }
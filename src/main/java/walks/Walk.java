@@ -1,63 +1,35 @@
 package walks;
 
 import exceptions.AlgorithmInterruptedException;
-import org.jgrapht.Graph;
-import org.jgrapht.graph.DefaultWeightedEdge;
+import util.IntList;
 
-import java.util.List;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+public abstract class Walk {
 
-public abstract class Walk<V> {
 
+    protected IntList path;
+    protected int startVertex;
 
-    protected List<V> path;
-    protected V startVertex;
-    protected Graph<V, DefaultWeightedEdge> graph;
+    protected Walk(int startVertex) {
 
-    protected Walk(Graph<V, DefaultWeightedEdge> graph, V startVertex) {
-
-        this.graph = graph;
         this.startVertex = startVertex;
-        this.path = new ArrayList<>();
+        this.path = new IntList();
     }
 
     protected Walk() {
 
-        this.path = new ArrayList<>();
+        this.path = new IntList();
     }
 
 
     /**
-     * Removes possible cycles from the path.
+     * Removes possible cycles from the path in O(length of the path) with a reusable workspace.
      *
+     * @param loopErasure the workspace, sized for the graph of this walk.
      * @return this walk with the removed cycles.
      */
-    public Walk<V> cycleFree() {
-
-        Map<V, Integer> map = new HashMap<>();
-
-        int i = 0;
-
-        while (i != path.size()) {
-            V currentVertex = path.get(i);
-
-            if (!map.containsKey(currentVertex)) {
-
-                map.put(currentVertex, i);
-            } else {
-
-                path.subList(path.indexOf(currentVertex), i).clear();
-                i = 0;
-                map = new HashMap<>();
-                continue;
-            }
-
-            i++;
-        }
-
+    public Walk cycleFree(LoopErasure loopErasure) {
 
+        loopErasure.erase(path);
         return this;
     }
 
@@ -66,22 +38,22 @@ public abstract class Walk<V> {
      *
      * @return this walk with the reversed path.
      */
-    public Walk<V> reversed() {
+    public Walk reversed() {
 
-        this.path = this.path.reversed();
+        this.path.reverse();
         return this;
     }
 
-    public List<V> getPath() {
+    public IntList getPath() {
         return path;
     }
 
-    public V getEndVertex() {
-        return path != null ? path.getLast() : null;
+    public int getEndVertex() {
+        return path.getLast();
     }
 
-    public V getStartVertex() {
-        return path != null ? path.getFirst() : startVertex;
+    public int getStartVertex() {
+        return path.isEmpty() ? startVertex : path.getFirst();
     }
 
     /**
@@ -0,0 +1,87 @@
+package algorithm.impl;
+
+import algorithm.VertexDisjointPaths;
+import graph.IntGraph;
+import graphloader.impl.RandomGraphGenerator;
+import org.junit.jupiter.api.Test;
+import pairloader.impl.PairLoaderImpl;
+import sampling.RandomStreams;
+import util.VertexPairs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs many solves concurrently on one graph, each pool thread with its own {@link SolveContext}.
+ */
+class ConcurrentSolveTest {
+
+    private static final int SOLVES = 200;
+    private static final int THREADS = 4;
+    private static final int PAIR_SETS = 8;
+    private static final int NUMBER_PAIRS = 10;
+    private static final int MAX_ATTEMPTS = 1000;
+
+
+    @Test
+    void concurrentSolvesProduceValidResults() throws Exception {
+
+        IntGraph graph = RandomGraphGenerator.forSize(1000).loadGraph();
+        List<VertexPairs<Integer>> pairSets = new ArrayList<>(PAIR_SETS);
+
+        for (int i = 0; i < PAIR_SETS; i++) {
+
+            PairLoaderImpl pairLoader = new PairLoaderImpl(graph, 1.0 / 10.0, NUMBER_PAIRS, new SplittableRandom(i));
+            pairLoader.generatePairs();
+            pairSets.add(pairLoader.getPairs());
+        }
+
+        ThreadLocal<SolveContext> contexts = ThreadLocal.withInitial(() -> new SolveContext(graph));
+        RandomStreams streams = new RandomStreams(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        try {
+
+            List<Future<VertexDisjointPaths>> futures = new ArrayList<>(SOLVES);
+
+            for (int i = 0; i < SOLVES; i++) {
+
+                VertexPairs<Integer> pairs = pairSets.get(i % PAIR_SETS);
+                RandomStreams solveStreams = streams.child(i);
+
+                futures.add(pool.submit(() -> {
+
+                    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+
+                        VertexDisjointPaths vertexDisjointPaths =
+                            new VertexDisjointPathsImpl(pairs, contexts.get(), solveStreams.child(attempt));
+
+                        if (vertexDisjointPaths.findDisjointPaths()) {
+                            return vertexDisjointPaths;
+                        }
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<VertexDisjointPaths> future : futures) {
+
+                VertexDisjointPaths vertexDisjointPaths = future.get();
+
+                assertNotNull(vertexDisjointPaths, "No disjoint paths found in %d attempts".formatted(MAX_ATTEMPTS));
+                assertDoesNotThrow(vertexDisjointPaths::verifyResult);
+            }
+
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
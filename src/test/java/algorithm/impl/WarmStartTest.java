@@ -0,0 +1,229 @@
+package algorithm.impl;
+
+import algorithm.VertexDisjointPaths;
+import graph.IntGraph;
+import graph.SubgraphLabels;
+import graph.impl.DynamicGraph;
+import graph.impl.GraphDelta;
+import graphloader.impl.RandomGraphGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pairloader.impl.PairLoaderImpl;
+import sampling.RandomStreams;
+import util.IntList;
+import util.VertexPairs;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Repairs solutions with {@link VertexDisjointPaths#withChangedPairs}.
+ */
+class WarmStartTest {
+
+    private static final int NUMBER_PAIRS = 10;
+    private static final int CHANGED_PAIRS = 5;
+    private static final int MAX_ATTEMPTS = 1000;
+
+    private static IntGraph graph;
+    private static VertexPairs<Integer> pairs;
+    private static VertexPairs<Integer> removedPairs;
+    private static VertexPairs<Integer> addedPairs;
+
+
+    @BeforeAll
+    static void setUp() throws Exception {
+
+        graph = RandomGraphGenerator.forSize(1000).loadGraph();
+        pairs = samplePairs(NUMBER_PAIRS, 1);
+
+        removedPairs = new VertexPairs<>();
+
+        for (int i = 0; i < CHANGED_PAIRS; i++) {
+            removedPairs.addOneVertexPair(pairs.getStartVertices().get(i), pairs.getEndVertices().get(i));
+        }
+
+        // new pairs, which share no vertex with the old ones
+        Set<Integer> used = new HashSet<>(pairs.getAllVertices());
+        VertexPairs<Integer> candidates = samplePairs(NUMBER_PAIRS, 2);
+        addedPairs = new VertexPairs<>();
+
+        for (int i = 0; i < candidates.getSize() && addedPairs.getSize() < CHANGED_PAIRS; i++) {
+
+            int start = candidates.getStartVertices().get(i);
+            int end = candidates.getEndVertices().get(i);
+
+            if (!used.contains(start) && !used.contains(end)) {
+                addedPairs.addOneVertexPair(start, end);
+            }
+        }
+
+        assertEquals(CHANGED_PAIRS, addedPairs.getSize());
+    }
+
+
+    @Test
+    void repairedSolutionVerifies() {
+
+        VertexDisjointPaths repaired = solve(new SolveContext(graph)).withChangedPairs(removedPairs, addedPairs);
+
+        assertTrue(repaired.findDisjointPaths());
+        assertTrue(repaired.isRepaired());
+        assertEquals(NUMBER_PAIRS, repaired.getPaths().size());
+        assertDoesNotThrow(repaired::verifyResult);
+    }
+
+
+    @Test
+    void solutionLabelsOnlyItsPathVertices() {
+
+        SolveContext context = new SolveContext(graph);
+        VertexDisjointPaths solution = solve(context);
+
+        Set<Integer> pathVertices = new HashSet<>();
+        solution.getPaths().forEach(path -> path.forEach(pathVertices::add));
+
+        for (int v = 0; v < graph.vertexCount(); v++) {
+
+            int label = pathVertices.contains(v) ? SubgraphLabels.CONSUMED : SubgraphLabels.UNASSIGNED;
+            assertEquals(label, context.labels().get(v), "label of " + v);
+        }
+    }
+
+
+    @Test
+    void repairIsTheSameOnEveryContext() {
+
+        // the context still holds the labels of the solution
+        SolveContext context = new SolveContext(graph);
+        VertexDisjointPaths solution = solve(context);
+        List<List<Integer>> ownedRepair = repair(solution);
+
+        // another solve has relabelled the context since
+        solve(context);
+        List<List<Integer>> reusedRepair = repair(solution);
+
+        List<List<Integer>> freshRepair = repair(solve(new SolveContext(graph)));
+
+        assertEquals(ownedRepair, reusedRepair);
+        assertEquals(ownedRepair, freshRepair);
+    }
+
+
+    @Test
+    void invalidChangesAreRejected() {
+
+        VertexDisjointPaths solution = solve(new SolveContext(graph));
+
+        VertexPairs<Integer> unknownPairs = new VertexPairs<>();
+        unknownPairs.addOneVertexPair(addedPairs.getStartVertices().getFirst(), addedPairs.getEndVertices().getFirst());
+
+        VertexPairs<Integer> overlappingPairs = new VertexPairs<>();
+        overlappingPairs.addOneVertexPair(pairs.getStartVertices().getLast(), addedPairs.getEndVertices().getFirst());
+
+        assertThrows(IllegalArgumentException.class, () -> solution.withChangedPairs(unknownPairs, addedPairs));
+        assertThrows(IllegalArgumentException.class, () -> solution.withChangedPairs(removedPairs, overlappingPairs));
+    }
+
+
+    @Test
+    void verticesWithoutNeighboursAreRejected() {
+
+        Set<Integer> used = new HashSet<>(pairs.getAllVertices());
+        used.addAll(addedPairs.getAllVertices());
+
+        int deletedVertex = unusedVertex(used);
+        used.add(deletedVertex);
+        int isolatedVertex = unusedVertex(used);
+
+        GraphDelta delta = new GraphDelta();
+        delta.deleteVertex(graph.labelOf(deletedVertex));
+
+        for (int i = 0; i < graph.degree(isolatedVertex); i++) {
+            delta.deleteEdge(graph.labelOf(isolatedVertex), graph.labelOf(graph.neighbour(isolatedVertex, i)));
+        }
+
+        // the ids stay valid, as long as the changed graph is not compacted
+        DynamicGraph.Update update = new DynamicGraph(graph).apply(delta);
+        assertFalse(update.compacted());
+
+        IntGraph changedGraph = update.graph();
+        VertexDisjointPaths solution = solve(new SolveContext(changedGraph));
+
+        VertexPairs<Integer> deletedPairs = new VertexPairs<>();
+        deletedPairs.addOneVertexPair(deletedVertex, addedPairs.getEndVertices().getFirst());
+
+        VertexPairs<Integer> isolatedPairs = new VertexPairs<>();
+        isolatedPairs.addOneVertexPair(addedPairs.getStartVertices().getFirst(), isolatedVertex);
+
+        assertThrows(IllegalArgumentException.class, () -> solution.withChangedPairs(removedPairs, deletedPairs));
+        assertThrows(IllegalArgumentException.class, () -> solution.withChangedPairs(removedPairs, isolatedPairs));
+    }
+
+
+    /**
+     * Solves {@link #pairs} with the attempts of a fixed seed.
+     */
+    private static VertexDisjointPaths solve(SolveContext context) {
+
+        RandomStreams streams = new RandomStreams(3);
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+
+            VertexDisjointPaths vertexDisjointPaths =
+                new VertexDisjointPathsImpl(pairs, context, streams.child(attempt));
+
+            if (vertexDisjointPaths.findDisjointPaths()) {
+                return vertexDisjointPaths;
+            }
+        }
+
+        return fail("No disjoint paths found in %d attempts".formatted(MAX_ATTEMPTS));
+    }
+
+    private static List<List<Integer>> repair(VertexDisjointPaths solution) {
+
+        VertexDisjointPaths repaired = solution.withChangedPairs(removedPairs, addedPairs);
+
+        assertTrue(repaired.findDisjointPaths());
+        return repaired.getPaths().stream().map(WarmStartTest::toList).toList();
+    }
+
+    private static List<Integer> toList(IntList path) {
+        return path.stream().boxed().toList();
+    }
+
+    /**
+     * @return the vertex of the least degree, which is not used and has neighbours, so that few slots change.
+     */
+    private static int unusedVertex(Set<Integer> used) {
+
+        int vertex = -1;
+
+        for (int v = 0; v < graph.vertexCount(); v++) {
+
+            if (!used.contains(v) && graph.degree(v) > 0 && (vertex == -1 || graph.degree(v) < graph.degree(vertex))) {
+                vertex = v;
+            }
+        }
+
+        return vertex;
+    }
+
+    private static VertexPairs<Integer> samplePairs(int numberPairs, long seed) throws Exception {
+
+        PairLoaderImpl pairLoader = new PairLoaderImpl(graph, 1.0 / 10.0, numberPairs, new SplittableRandom(seed));
+        pairLoader.generatePairs();
+
+        return pairLoader.getPairs();
+    }
+}